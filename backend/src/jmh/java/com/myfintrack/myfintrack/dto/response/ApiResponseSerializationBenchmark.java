@@ -0,0 +1,117 @@
+package com.myfintrack.myfintrack.dto.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfintrack.myfintrack.entity.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the two largest response bodies: a page of
+ * transactions and the dashboard, both wrapped in ApiResponse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Page<TransactionResponse>> transactionPage;
+    private ApiResponse<DashboardResponse> dashboard;
+
+    @Setup
+    public void setUp() {
+        // Same modules and date handling as the application's mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime now = LocalDateTime.of(2025, 6, 15, 10, 30);
+        List<TransactionResponse> transactions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            transactions.add(TransactionResponse.builder()
+                    .id((long) i)
+                    .categoryId(7L)
+                    .categoryName("Makanan & Minuman")
+                    .categoryColor("#ef4444")
+                    .type(Category.TransactionType.EXPENSE)
+                    .amount(BigDecimal.valueOf(45_000L + i * 1_000L, 2))
+                    .description("Lunch " + i)
+                    .transactionDate(LocalDate.of(2025, 6, 1 + i))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        transactionPage = ApiResponse.success(new PageImpl<>(transactions, PageRequest.of(0, 20), 240));
+
+        List<DashboardResponse.CategoryExpense> categories = new ArrayList<>();
+        List<BudgetResponse> budgets = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            categories.add(DashboardResponse.CategoryExpense.builder()
+                    .categoryId((long) i)
+                    .categoryName("Category " + i)
+                    .categoryColor("#ef4444")
+                    .total(BigDecimal.valueOf(125_000L * (i + 1), 2))
+                    .transactionCount(i + 3)
+                    .percentage(12.5)
+                    .build());
+            budgets.add(BudgetResponse.builder()
+                    .id((long) i)
+                    .categoryId((long) i)
+                    .categoryName("Category " + i)
+                    .categoryColor("#ef4444")
+                    .monthlyLimit(BigDecimal.valueOf(1_000_000, 2))
+                    .spent(BigDecimal.valueOf(600_000, 2))
+                    .remaining(BigDecimal.valueOf(400_000, 2))
+                    .usagePercentage(60.0)
+                    .status("SAFE")
+                    .month(6)
+                    .year(2025)
+                    .build());
+        }
+        List<DashboardResponse.MonthlyTrend> trend = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            trend.add(DashboardResponse.MonthlyTrend.builder()
+                    .year(2025)
+                    .month(i)
+                    .income(BigDecimal.valueOf(9_000_000, 2))
+                    .expense(BigDecimal.valueOf(6_500_000, 2))
+                    .netSavings(BigDecimal.valueOf(2_500_000, 2))
+                    .build());
+        }
+        dashboard = ApiResponse.success(DashboardResponse.builder()
+                .totalIncome(BigDecimal.valueOf(9_000_000, 2))
+                .totalExpense(BigDecimal.valueOf(6_500_000, 2))
+                .currentBalance(BigDecimal.valueOf(42_000_000, 2))
+                .netSavings(BigDecimal.valueOf(2_500_000, 2))
+                .expenseByCategory(categories)
+                .budgetProgress(budgets)
+                .recentTransactions(transactions.subList(0, 10))
+                .monthlyTrend(trend)
+                .build());
+    }
+
+    @Benchmark
+    public byte[] transactionPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transactionPage);
+    }
+
+    @Benchmark
+    public byte[] dashboard() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dashboard);
+    }
+}
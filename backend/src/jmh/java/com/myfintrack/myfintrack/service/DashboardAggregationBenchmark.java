@@ -0,0 +1,94 @@
+package com.myfintrack.myfintrack.service;
+
+import com.myfintrack.myfintrack.dto.response.DashboardResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory post-processing of the dashboard: category percentages and
+ * filling the six-month trend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DashboardAggregationBenchmark {
+
+    private List<Map<String, Object>> sparseTrend;
+    private List<Map<String, Object>> fullTrend;
+    private LocalDate trendStart;
+
+    @State(Scope.Benchmark)
+    public static class CategoryRows {
+
+        @Param({ "5", "12", "40" })
+        private int categories;
+
+        private List<Map<String, Object>> expenseData;
+        private BigDecimal totalExpense;
+
+        @Setup
+        public void setUp() {
+            expenseData = new ArrayList<>();
+            totalExpense = BigDecimal.ZERO;
+            for (int i = 0; i < categories; i++) {
+                BigDecimal total = BigDecimal.valueOf(125_000L * (i + 1), 2);
+                Map<String, Object> row = new HashMap<>();
+                row.put("categoryId", (long) i + 1);
+                row.put("categoryName", "Category " + i);
+                row.put("categoryColor", "#ef4444");
+                row.put("total", total);
+                row.put("count", (long) i + 3);
+                expenseData.add(row);
+                totalExpense = totalExpense.add(total);
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        trendStart = DashboardService.trendRange(6, 2025).start();
+        sparseTrend = new ArrayList<>();
+        fullTrend = new ArrayList<>();
+        for (int i = 0; i < DashboardService.TREND_MONTHS; i++) {
+            LocalDate month = trendStart.plusMonths(i);
+            Map<String, Object> row = Map.of(
+                    "year", month.getYear(),
+                    "month", month.getMonthValue(),
+                    "income", BigDecimal.valueOf(9_000_000, 2),
+                    "expense", BigDecimal.valueOf(6_500_000, 2));
+            fullTrend.add(row);
+            if (i % 2 == 0) {
+                sparseTrend.add(row);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<DashboardResponse.CategoryExpense> categoryPercentages(CategoryRows rows) {
+        return DashboardService.buildExpenseByCategory(rows.expenseData, rows.totalExpense);
+    }
+
+    @Benchmark
+    public List<DashboardResponse.MonthlyTrend> trendGapFillingSparse() {
+        return DashboardService.fillTrendGaps(sparseTrend, trendStart);
+    }
+
+    @Benchmark
+    public List<DashboardResponse.MonthlyTrend> trendGapFillingFull() {
+        return DashboardService.fillTrendGaps(fullTrend, trendStart);
+    }
+}
@@ -0,0 +1,89 @@
+package com.myfintrack.myfintrack.service;
+
+import com.myfintrack.myfintrack.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Date;
+import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and the validation done by JwtAuthenticationFilter on every
+ * authenticated request, against the previous three-parse path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 86_400_000L, 10_000, new SimpleMeterRegistry(), Clock.systemUTC());
+
+        userDetails = new UserDetailsImpl(User.builder()
+                .id(1L)
+                .email("bench@test.local")
+                .password("x")
+                .fullName("Bench")
+                .enabled(true)
+                .build());
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    /**
+     * The filter before single-parse validation: extractUsername, then
+     * isTokenValid parsing twice more, each with a fresh key and parser.
+     */
+    @Benchmark
+    public boolean authenticateThreeParses() {
+        String username = legacyClaim(Claims::getSubject);
+        return username != null
+                && legacyClaim(Claims::getSubject).equals(userDetails.getUsername())
+                && !legacyClaim(Claims::getExpiration).before(new Date());
+    }
+
+    /** One verification with the shared parser, bypassing the digest cache. */
+    @Benchmark
+    public Claims authenticateSingleParse() {
+        return jwtService.extractClaim(token, Function.identity());
+    }
+
+    /** What the filter does now for a token it has already seen. */
+    @Benchmark
+    public ValidatedToken authenticateCached() {
+        return jwtService.validate(token);
+    }
+
+    private <T> T legacyClaim(Function<Claims, T> resolver) {
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return resolver.apply(claims);
+    }
+}
@@ -0,0 +1,86 @@
+package com.myfintrack.myfintrack.service;
+
+import com.myfintrack.myfintrack.dto.response.BudgetResponse;
+import com.myfintrack.myfintrack.dto.response.TransactionResponse;
+import com.myfintrack.myfintrack.entity.Budget;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.Transaction;
+import com.myfintrack.myfintrack.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-response mappers on a page-sized batch (20 rows).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseMappingBenchmark {
+
+    private static final int ROWS = 20;
+
+    private final List<Transaction> transactions = new ArrayList<>();
+    private final List<Budget> budgets = new ArrayList<>();
+    private final List<BigDecimal> spent = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        User user = User.builder().id(1L).email("bench@test.local").fullName("Bench").build();
+        Category category = Category.builder()
+                .id(7L).name("Makanan & Minuman").type(Category.TransactionType.EXPENSE).color("#ef4444").build();
+        LocalDateTime now = LocalDateTime.of(2025, 6, 15, 10, 30);
+
+        for (int i = 0; i < ROWS; i++) {
+            transactions.add(Transaction.builder()
+                    .id((long) i)
+                    .user(user)
+                    .category(category)
+                    .type(Category.TransactionType.EXPENSE)
+                    .amount(BigDecimal.valueOf(45_000L + i * 1_000L, 2))
+                    .description("Lunch " + i)
+                    .transactionDate(LocalDate.of(2025, 6, 1 + i))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+            budgets.add(Budget.builder()
+                    .id((long) i)
+                    .user(user)
+                    .category(category)
+                    .monthlyLimit(BigDecimal.valueOf(1_000_000, 2))
+                    .month(6)
+                    .year(2025)
+                    .build());
+            // Spread usage across SAFE, WARNING and OVER_BUDGET
+            spent.add(BigDecimal.valueOf(60_000L * i, 2));
+        }
+    }
+
+    @Benchmark
+    public void transactionMapper(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            TransactionResponse response = TransactionService.mapToResponse(transaction);
+            blackhole.consume(response);
+        }
+    }
+
+    @Benchmark
+    public void budgetMapper(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            BudgetResponse response = BudgetService.toResponse(budgets.get(i), spent.get(i));
+            blackhole.consume(response);
+        }
+    }
+}
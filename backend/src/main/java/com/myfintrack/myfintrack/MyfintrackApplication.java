@@ -1,13 +1,24 @@
 package com.myfintrack.myfintrack;
 
+import com.myfintrack.myfintrack.config.RollupMaintenanceRunner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+
 @SpringBootApplication
 public class MyfintrackApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(MyfintrackApplication.class, args);
+		SpringApplication application = new SpringApplication(MyfintrackApplication.class);
+		if (RollupMaintenanceRunner.isMaintenanceCommand(args)) {
+			// One-shot command: no web server, no scheduled jobs
+			application.setWebApplicationType(WebApplicationType.NONE);
+			args = Arrays.copyOf(args, args.length + 1);
+			args[args.length - 1] = "--scheduling.enabled=false";
+		}
+		application.run(args);
 	}
 
 }
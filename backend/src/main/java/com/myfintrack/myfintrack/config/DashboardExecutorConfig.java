@@ -0,0 +1,74 @@
+package com.myfintrack.myfintrack.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for the parallel dashboard mode. Each section task holds a pooled
+ * connection while it runs, so the number of tasks running at once is capped
+ * below the Hikari pool size. Virtual threads are used when the runtime has them
+ * (Java 21+); otherwise a fixed pool of platform threads. Either way at most
+ * {@code queue-capacity} sections wait, and the next one is rejected at once.
+ */
+@Configuration
+@Slf4j
+public class DashboardExecutorConfig {
+
+    @Value("${dashboard.parallel.max-concurrency:8}")
+    private int maxConcurrency;
+
+    @Value("${dashboard.parallel.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService dashboardSectionExecutor() {
+        int concurrency = Math.max(1, Math.min(maxConcurrency, connectionPoolSize - 1));
+        if (concurrency != maxConcurrency) {
+            log.warn("dashboard.parallel.max-concurrency={} does not fit a connection pool of {}; using {}",
+                    maxConcurrency, connectionPoolSize, concurrency);
+        }
+
+        ExecutorService virtualThreads = newVirtualThreadExecutor();
+        if (virtualThreads != null) {
+            log.info("Dashboard sections run on virtual threads, at most {} at a time with a queue of {}",
+                    concurrency, queueCapacity);
+            return new PermitLimitedExecutorService(virtualThreads, concurrency, queueCapacity);
+        }
+
+        log.info("Dashboard sections run on {} platform threads", concurrency);
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                concurrency, concurrency,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-section-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Looked up reflectively so the build can keep targeting Java 17.
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
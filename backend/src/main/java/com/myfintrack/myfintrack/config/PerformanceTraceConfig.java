@@ -0,0 +1,31 @@
+package com.myfintrack.myfintrack.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts {@link TracingDataSource} in front of the connection pool so
+ * JPA and JdbcTemplate both go through it. Turned off together with
+ * {@code performance-trace.enabled}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "performance-trace.enabled", matchIfMissing = true)
+public class PerformanceTraceConfig {
+
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+                    return new TracingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.myfintrack.myfintrack.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on an unbounded executor (virtual threads) while letting at most
+ * {@code permits} of them execute at the same time. Tasks beyond that wait in
+ * a FIFO queue of {@code queueCapacity} and get a thread only once a permit is
+ * free, so nothing parks while waiting. A full queue rejects the task at once
+ * with {@link RejectedExecutionException}, like the bounded platform pool.
+ */
+class PermitLimitedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final Queue<Runnable> waiting;
+
+    PermitLimitedExecutorService(ExecutorService delegate, int permits, int queueCapacity) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(permits);
+        this.waiting = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (delegate.isShutdown()) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        if (!waiting.offer(command)) {
+            throw new RejectedExecutionException("All permits busy and " + waiting.size() + " tasks already waiting");
+        }
+        startWaiting();
+    }
+
+    /** Hand queued tasks to the delegate while permits are free. */
+    private void startWaiting() {
+        // Re-checked after every release so a task queued just as a permit came back is not stranded
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                permits.release();
+                continue;
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        next.run();
+                    } finally {
+                        permits.release();
+                        startWaiting();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> neverStarted = new ArrayList<>();
+        for (Runnable task; (task = waiting.poll()) != null; ) {
+            neverStarted.add(task);
+        }
+        neverStarted.addAll(delegate.shutdownNow());
+        return neverStarted;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return waiting.isEmpty() && delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,87 @@
+package com.myfintrack.myfintrack.config;
+
+import com.myfintrack.myfintrack.service.TransactionRollupService;
+import com.myfintrack.myfintrack.service.TransactionRollupService.RollupDrift;
+import com.myfintrack.myfintrack.service.UserBalanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seeds the monthly rollup and the balance snapshots on startup and exposes a one-shot maintenance command:
+ *
+ * <pre>
+ * java -jar app.jar --rollup=verify   # report drift, exit 1 if any
+ * java -jar app.jar --rollup=rebuild  # recompute from raw rows, then verify
+ * </pre>
+ *
+ * <p>The seed runs once all beans exist but before the web server starts, so
+ * no request can write a bucket or balance first and make its table look
+ * already built.
+ * A maintenance command starts neither the web server nor the scheduled jobs
+ * (see MyfintrackApplication).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RollupMaintenanceRunner implements SmartInitializingSingleton, ApplicationRunner {
+
+    private static final String OPTION = "rollup";
+
+    private final TransactionRollupService rollupService;
+    private final UserBalanceService userBalanceService;
+    private final ConfigurableApplicationContext context;
+    private final ApplicationArguments arguments;
+
+    /** Whether the command line asks for a rollup maintenance run rather than the server. */
+    public static boolean isMaintenanceCommand(String[] args) {
+        return Arrays.stream(args).anyMatch(arg -> arg.startsWith("--" + OPTION + "="));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!arguments.containsOption(OPTION)) {
+            rollupService.bootstrapIfEmpty();
+            userBalanceService.bootstrapIfEmpty();
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> command = args.getOptionValues(OPTION);
+        if (command == null || command.isEmpty()) {
+            return;
+        }
+
+        List<RollupDrift> drift;
+        switch (command.get(0)) {
+            case "verify" -> drift = rollupService.verify();
+            case "rebuild" -> {
+                rollupService.rebuild();
+                drift = rollupService.verify();
+            }
+            default -> {
+                log.error("Unknown rollup command '{}'. Use --rollup=verify or --rollup=rebuild", command.get(0));
+                System.exit(SpringApplication.exit(context, () -> 2));
+                return;
+            }
+        }
+
+        drift.forEach(d -> log.warn(
+                "Rollup drift user={} category={} type={} period={}-{}: expected {} ({} rows), stored {} ({} rows)",
+                d.userId(), d.categoryId(), d.type(), d.year(), d.month(),
+                d.expectedTotal(), d.expectedCount(), d.actualTotal(), d.actualCount()));
+        log.info("Rollup {} finished: {} drifting bucket(s)", command.get(0), drift.size());
+
+        int exitCode = drift.isEmpty() ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
@@ -0,0 +1,72 @@
+package com.myfintrack.myfintrack.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Search structures that JPA annotations cannot declare, created idempotently
+ * once Hibernate has brought the transactions table up to date:
+ * <ul>
+ * <li>{@code search_vector}: generated tsvector over the description
+ * ('simple' configuration, since descriptions mix languages)</li>
+ * <li>GIN (user_id, search_vector) for word matches</li>
+ * <li>GIN (user_id, description gin_trgm_ops) for substring and fuzzy matches</li>
+ * </ul>
+ * user_id sits inside both GIN indexes (btree_gin) so a search only touches
+ * one user's postings. btree_gin has no cross-type operators, so the user id
+ * must be bound as bigint (a Long) for the planner to use that column.
+ *
+ * <p>New rows wait in each GIN index's pending list until vacuum or an
+ * overflow merges them, and every search scans that list linearly; at the
+ * default 4MB it cost more than the indexed lookup itself, so it is capped
+ * at 256kB. Adding the generated column rewrites the table once.
+ */
+@Component
+@Slf4j
+public class SearchSchemaInitializer {
+
+    private static final String[] DDL = {
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE EXTENSION IF NOT EXISTS btree_gin",
+            "ALTER TABLE transactions ADD COLUMN IF NOT EXISTS search_vector tsvector "
+                    + "GENERATED ALWAYS AS (to_tsvector('simple', coalesce(description, ''))) STORED",
+            "CREATE INDEX IF NOT EXISTS idx_transactions_user_search_vector "
+                    + "ON transactions USING gin (user_id, search_vector)",
+            "CREATE INDEX IF NOT EXISTS idx_transactions_user_description_trgm "
+                    + "ON transactions USING gin (user_id, description gin_trgm_ops)",
+            "ALTER INDEX idx_transactions_user_search_vector SET (gin_pending_list_limit = 256)",
+            "ALTER INDEX idx_transactions_user_description_trgm SET (gin_pending_list_limit = 256)"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean initialize;
+
+    // Taking the EntityManagerFactory orders this after Hibernate's schema update
+    public SearchSchemaInitializer(
+            JdbcTemplate jdbcTemplate,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${search.schema.initialize:true}") boolean initialize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.initialize = initialize;
+    }
+
+    @PostConstruct
+    void createSearchStructures() {
+        if (!initialize) {
+            return;
+        }
+        try {
+            for (String statement : DDL) {
+                jdbcTemplate.execute(statement);
+            }
+        } catch (DataAccessException e) {
+            log.error("Could not create transaction search structures; /api/transactions/search will fail: {}",
+                    e.getMostSpecificCause().getMessage());
+        }
+    }
+}
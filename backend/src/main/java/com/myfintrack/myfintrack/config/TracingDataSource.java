@@ -0,0 +1,146 @@
+package com.myfintrack.myfintrack.config;
+
+import com.myfintrack.myfintrack.web.RequestTrace;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps the pool so statements executed during a traced request are counted
+ * and timed into the current {@link RequestTrace}: execute time as database
+ * time, and the time each result set stays open as row mapping / entity
+ * hydration time. Outside a request, statements are handed out unwrapped.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    public TracingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(target));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TracingDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement && RequestTrace.current() != null) {
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                        new Class<?>[] { type }, new StatementHandler(statement));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final List<ResultSetHandler> openResultSets = new ArrayList<>(1);
+
+        StatementHandler(Statement target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            RequestTrace trace = RequestTrace.current();
+            if (trace != null && name.startsWith("execute")) {
+                long start = System.nanoTime();
+                Object result;
+                try {
+                    result = TracingDataSource.invoke(target, method, args);
+                } finally {
+                    trace.statementExecuted(System.nanoTime() - start);
+                }
+                return result instanceof ResultSet resultSet ? resultSet(resultSet, trace) : result;
+            }
+            if ("close".equals(name)) {
+                openResultSets.forEach(ResultSetHandler::finish);
+                openResultSets.clear();
+            }
+            Object result = TracingDataSource.invoke(target, method, args);
+            if (trace != null && result instanceof ResultSet resultSet
+                    && ("getResultSet".equals(name) || "getGeneratedKeys".equals(name))) {
+                return resultSet(resultSet, trace);
+            }
+            return result;
+        }
+
+        private ResultSet resultSet(ResultSet resultSet, RequestTrace trace) {
+            ResultSetHandler handler = new ResultSetHandler(resultSet, trace);
+            openResultSets.add(handler);
+            return (ResultSet) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                    new Class<?>[] { ResultSet.class }, handler);
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final RequestTrace trace;
+        private final long openedAt = System.nanoTime();
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(ResultSet target, RequestTrace trace) {
+            this.target = target;
+            this.trace = trace;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name)) {
+                finish();
+            }
+            Object result = TracingDataSource.invoke(target, method, args);
+            if ("next".equals(name) && Boolean.TRUE.equals(result)) {
+                rows++;
+            }
+            return result;
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                trace.resultSetConsumed(System.nanoTime() - openedAt, rows);
+            }
+        }
+    }
+}
@@ -5,8 +5,8 @@ import com.myfintrack.myfintrack.dto.request.RegisterRequest;
 import com.myfintrack.myfintrack.dto.response.ApiResponse;
 import com.myfintrack.myfintrack.dto.response.AuthResponse;
 import com.myfintrack.myfintrack.service.AuthenticationService;
-import com.myfintrack.myfintrack.service.RefreshTokenService;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +19,6 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthenticationService authenticationService;
-    private final RefreshTokenService refreshTokenService;
 
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
@@ -31,40 +30,37 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<AuthResponse>> login(
             @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest,
             HttpServletResponse response) {
 
-        AuthResponse authResponse = authenticationService.authenticate(request);
-
-        if (authResponse.getRefreshToken() != null && !authResponse.getRefreshToken().isEmpty()) {
-            Cookie refreshCookie = new Cookie("refreshToken", authResponse.getRefreshToken());
-            refreshCookie.setHttpOnly(true);
-            refreshCookie.setSecure(false);
-            refreshCookie.setPath("/");
-            refreshCookie.setMaxAge(7 * 24 * 60 * 60); 
-            response.addCookie(refreshCookie);
-        }
+        AuthResponse authResponse = authenticationService.authenticate(request, httpRequest.getRemoteAddr());
+        addRefreshCookie(response, authResponse);
 
         return ResponseEntity.ok(ApiResponse.success("Login successful", authResponse));
     }
 
     @PostMapping("/refresh-token")
     public ResponseEntity<ApiResponse<AuthResponse>> refreshToken(
-            @CookieValue(name = "refreshToken", required = false) String refreshToken) {
+            @CookieValue(name = "refreshToken", required = false) String refreshToken,
+            HttpServletResponse response) {
 
         if (refreshToken == null) {
             return ResponseEntity.status(403).body(ApiResponse.error("Refresh token is missing", null));
         }
 
-
-        return refreshTokenService.findByToken(refreshToken)
-                .map(refreshTokenService::verifyExpiration)
-                .map(com.myfintrack.myfintrack.entity.RefreshToken::getUser)
-                .map(user -> {
-                    return ResponseEntity.status(501)
-                            .body(ApiResponse.<AuthResponse>error("Not implemented fully yet", null));
-                })
-                .orElseThrow(() -> new RuntimeException("Refresh token is not in database!"));
-
+        AuthResponse authResponse = authenticationService.refresh(refreshToken);
+        addRefreshCookie(response, authResponse);
+        return ResponseEntity.ok(ApiResponse.success("Token refreshed", authResponse));
     }
 
+    private void addRefreshCookie(HttpServletResponse response, AuthResponse authResponse) {
+        if (authResponse.getRefreshToken() != null && !authResponse.getRefreshToken().isEmpty()) {
+            Cookie refreshCookie = new Cookie("refreshToken", authResponse.getRefreshToken());
+            refreshCookie.setHttpOnly(true);
+            refreshCookie.setSecure(false);
+            refreshCookie.setPath("/");
+            refreshCookie.setMaxAge(7 * 24 * 60 * 60);
+            response.addCookie(refreshCookie);
+        }
+    }
 }
@@ -5,12 +5,11 @@ import com.myfintrack.myfintrack.dto.response.ApiResponse;
 import com.myfintrack.myfintrack.dto.response.BudgetResponse;
 import com.myfintrack.myfintrack.dto.response.BudgetSummaryResponse;
 import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.security.CurrentUser;
 import com.myfintrack.myfintrack.service.BudgetService;
-import com.myfintrack.myfintrack.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,13 +20,11 @@ import java.util.List;
 public class BudgetController {
 
     private final BudgetService budgetService;
-    private final UserService userService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<BudgetResponse>> createBudget(
             @Valid @RequestBody BudgetRequest request,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
+            @CurrentUser User user) {
         BudgetResponse response = budgetService.createBudget(user, request);
         return ResponseEntity.ok(ApiResponse.success("Budget created successfully", response));
     }
@@ -36,8 +33,7 @@ public class BudgetController {
     public ResponseEntity<ApiResponse<List<BudgetResponse>>> getBudgets(
             @RequestParam(required = false) Integer month,
             @RequestParam(required = false) Integer year,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
+            @CurrentUser User user) {
         List<BudgetResponse> budgets = budgetService.getBudgets(user, month, year);
         return ResponseEntity.ok(ApiResponse.success(budgets));
     }
@@ -46,8 +42,7 @@ public class BudgetController {
     public ResponseEntity<ApiResponse<BudgetSummaryResponse>> getEnvelopeSummary(
             @RequestParam(required = false) Integer month,
             @RequestParam(required = false) Integer year,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
+            @CurrentUser User user) {
         if (month == null)
             month = java.time.LocalDate.now().getMonthValue();
         if (year == null)
@@ -60,8 +55,7 @@ public class BudgetController {
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<BudgetResponse>> getBudgetById(
             @PathVariable Long id,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
+            @CurrentUser User user) {
         BudgetResponse response = budgetService.getBudgetById(user, id);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -70,8 +64,7 @@ public class BudgetController {
     public ResponseEntity<ApiResponse<BudgetResponse>> updateBudget(
             @PathVariable Long id,
             @Valid @RequestBody BudgetRequest request,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
+            @CurrentUser User user) {
         BudgetResponse response = budgetService.updateBudget(user, id, request);
         return ResponseEntity.ok(ApiResponse.success("Budget updated successfully", response));
     }
@@ -79,8 +72,7 @@ public class BudgetController {
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteBudget(
             @PathVariable Long id,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
+            @CurrentUser User user) {
         budgetService.deleteBudget(user, id);
         return ResponseEntity.ok(ApiResponse.success("Budget deleted successfully", null));
     }
@@ -1,23 +1,34 @@
 package com.myfintrack.myfintrack.controller;
 
+import com.myfintrack.myfintrack.dto.request.BulkTransactionRequest;
+import com.myfintrack.myfintrack.dto.request.TransactionFilter;
 import com.myfintrack.myfintrack.dto.request.TransactionRequest;
 import com.myfintrack.myfintrack.dto.response.ApiResponse;
+import com.myfintrack.myfintrack.dto.response.BulkTransactionResponse;
+import com.myfintrack.myfintrack.dto.response.CursorPage;
+import com.myfintrack.myfintrack.dto.response.TransactionImportReport;
 import com.myfintrack.myfintrack.dto.response.TransactionResponse;
-import com.myfintrack.myfintrack.entity.Category;
 import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.security.CurrentUser;
+import com.myfintrack.myfintrack.service.TransactionBulkService;
+import com.myfintrack.myfintrack.service.TransactionExportService;
+import com.myfintrack.myfintrack.service.TransactionImportService;
 import com.myfintrack.myfintrack.service.TransactionService;
-import com.myfintrack.myfintrack.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
-import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -25,13 +36,17 @@ import java.time.LocalDate;
 public class TransactionController {
 
     private final TransactionService transactionService;
-    private final UserService userService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionBulkService transactionBulkService;
+
+    @Value("${transactions.page.max-size:100}")
+    private int maxPageSize;
 
     @PostMapping
     public ResponseEntity<ApiResponse<TransactionResponse>> createTransaction(
             @Valid @RequestBody TransactionRequest request,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
+            @CurrentUser User user) {
         TransactionResponse response = transactionService.createTransaction(user, request);
         return ResponseEntity.ok(ApiResponse.success("Transaction created successfully", response));
     }
@@ -40,23 +55,126 @@ public class TransactionController {
     public ResponseEntity<ApiResponse<Page<TransactionResponse>>> getTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) Category.TransactionType type,
-            @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        Page<TransactionResponse> transactions = transactionService.getTransactions(
-                user, type, categoryId, startDate, endDate, pageRequest);
+            TransactionFilter filter,
+            @CurrentUser User user) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize(size));
+        Page<TransactionResponse> transactions = transactionService.getTransactions(user, filter, pageRequest);
+        return ResponseEntity.ok(ApiResponse.success(transactions));
+    }
+
+    /**
+     * Cursor mode, picked whenever a {@code cursor} parameter is present
+     * (empty for the first page). Pages are seeked on (transactionDate, id)
+     * and come without a total count.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<TransactionResponse>>> getTransactionsAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            TransactionFilter filter,
+            @CurrentUser User user) {
+        CursorPage<TransactionResponse> transactions = transactionService.getTransactionsAfter(
+                user, filter, cursor, pageSize(size));
         return ResponseEntity.ok(ApiResponse.success(transactions));
     }
 
+    /**
+     * Description search, best matches first: whole words, substrings and
+     * near-misses. Paginated by cursor like the cursor listing.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<CursorPage<TransactionResponse>>> searchTransactions(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @CurrentUser User user) {
+        CursorPage<TransactionResponse> results = transactionService.searchTransactions(
+                user, q, cursor, pageSize(size));
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
+    /**
+     * Every transaction matching the listing filters (typically a date
+     * range), oldest first, streamed as a {@code csv} or {@code ndjson}
+     * download while it is read from the database.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            TransactionFilter filter,
+            @CurrentUser User user) {
+        TransactionExportService.Format exportFormat = TransactionExportService.Format.of(format);
+        transactionExportService.validate(filter);
+        StreamingResponseBody body = out -> transactionExportService.export(user, filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * Bulk import from a CSV file (multipart field {@code file}), written in
+     * chunks as it is parsed. Rows that fail are reported by line while the
+     * rest are kept; see TransactionImportService for the columns.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<TransactionImportReport>> importTransactions(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String dateFormat,
+            @CurrentUser User user) throws IOException {
+        TransactionImportReport report;
+        try (InputStream in = file.getInputStream()) {
+            report = transactionImportService.importCsv(user, in, dateFormat);
+        }
+        return ResponseEntity.ok(ApiResponse.success(
+                "Imported " + report.getImported() + " transactions, " + report.getFailed() + " failed", report));
+    }
+
+    /**
+     * Bulk operations over an id list or the listing filters (see
+     * BulkTransactionRequest). Each answers with the number of rows changed.
+     */
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<ApiResponse<BulkTransactionResponse>> bulkDelete(
+            @Valid @RequestBody BulkTransactionRequest request,
+            @CurrentUser User user) {
+        BulkTransactionResponse response = transactionBulkService.delete(user, request);
+        return ResponseEntity.ok(ApiResponse.success("Deleted " + response.getAffected() + " transactions", response));
+    }
+
+    @PostMapping("/bulk/restore")
+    public ResponseEntity<ApiResponse<BulkTransactionResponse>> bulkRestore(
+            @Valid @RequestBody BulkTransactionRequest request,
+            @CurrentUser User user) {
+        BulkTransactionResponse response = transactionBulkService.restore(user, request);
+        return ResponseEntity.ok(ApiResponse.success("Restored " + response.getAffected() + " transactions", response));
+    }
+
+    @PostMapping("/bulk/recategorize")
+    public ResponseEntity<ApiResponse<BulkTransactionResponse>> bulkRecategorize(
+            @Valid @RequestBody BulkTransactionRequest request,
+            @CurrentUser User user) {
+        BulkTransactionResponse response = transactionBulkService.recategorize(user, request);
+        return ResponseEntity.ok(ApiResponse.success(
+                "Recategorized " + response.getAffected() + " transactions", response));
+    }
+
+    @PostMapping("/bulk/purge")
+    public ResponseEntity<ApiResponse<BulkTransactionResponse>> bulkPurge(
+            @Valid @RequestBody BulkTransactionRequest request,
+            @CurrentUser User user) {
+        BulkTransactionResponse response = transactionBulkService.purge(user, request);
+        return ResponseEntity.ok(ApiResponse.success(
+                "Permanently deleted " + response.getAffected() + " transactions", response));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<TransactionResponse>> getTransactionById(
             @PathVariable Long id,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
+            @CurrentUser User user) {
         TransactionResponse response = transactionService.getTransactionById(user, id);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -65,8 +183,7 @@ public class TransactionController {
     public ResponseEntity<ApiResponse<TransactionResponse>> updateTransaction(
             @PathVariable Long id,
             @Valid @RequestBody TransactionRequest request,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
+            @CurrentUser User user) {
         TransactionResponse response = transactionService.updateTransaction(user, id, request);
         return ResponseEntity.ok(ApiResponse.success("Transaction updated successfully", response));
     }
@@ -74,8 +191,7 @@ public class TransactionController {
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteTransaction(
             @PathVariable Long id,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
+            @CurrentUser User user) {
         transactionService.deleteTransaction(user, id);
         return ResponseEntity.ok(ApiResponse.success("Transaction deleted successfully", null));
     }
@@ -83,8 +199,7 @@ public class TransactionController {
     @DeleteMapping("/{id}/permanent")
     public ResponseEntity<ApiResponse<Void>> deleteTransactionPermanently(
             @PathVariable Long id,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
+            @CurrentUser User user) {
         transactionService.deleteTransactionPermanently(user, id);
         return ResponseEntity.ok(ApiResponse.success("Transaction permanently deleted", null));
     }
@@ -93,9 +208,8 @@ public class TransactionController {
     public ResponseEntity<ApiResponse<Page<TransactionResponse>>> getDeletedTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
-        PageRequest pageRequest = PageRequest.of(page, size);
+            @CurrentUser User user) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize(size));
         Page<TransactionResponse> transactions = transactionService.getDeletedTransactions(user, pageRequest);
         return ResponseEntity.ok(ApiResponse.success(transactions));
     }
@@ -103,9 +217,12 @@ public class TransactionController {
     @PutMapping("/{id}/restore")
     public ResponseEntity<ApiResponse<TransactionResponse>> restoreTransaction(
             @PathVariable Long id,
-            Authentication authentication) {
-        User user = userService.getUserByEmail(authentication.getName());
+            @CurrentUser User user) {
         TransactionResponse response = transactionService.restoreTransaction(user, id);
         return ResponseEntity.ok(ApiResponse.success("Transaction restored successfully", response));
     }
+
+    private int pageSize(int requested) {
+        return Math.min(Math.max(requested, 1), maxPageSize);
+    }
 }
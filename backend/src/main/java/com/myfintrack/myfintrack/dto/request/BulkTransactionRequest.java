@@ -0,0 +1,30 @@
+package com.myfintrack.myfintrack.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Selects the transactions a bulk operation applies to: either {@code ids}
+ * or a {@code filter} with at least one field set, never both. Ids the user
+ * does not own, or that are not in the state the operation starts from, are
+ * skipped rather than failing the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTransactionRequest {
+
+    @Size(max = 10000, message = "At most 10000 ids per request")
+    private List<Long> ids;
+
+    private TransactionFilter filter;
+
+    // Recategorize only: the category the transactions move to
+    private Long categoryId;
+}
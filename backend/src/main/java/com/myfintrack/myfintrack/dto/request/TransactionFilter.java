@@ -0,0 +1,42 @@
+package com.myfintrack.myfintrack.dto.request;
+
+import com.myfintrack.myfintrack.entity.Category;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Listing filters, bound from query parameters. Every field is optional and
+ * all given fields apply together. {@code categoryId} takes one or more ids
+ * (repeated or comma-separated); dates and amounts are inclusive bounds and
+ * either end may be left open; {@code description} is a case-insensitive
+ * substring match.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionFilter {
+
+    private Category.TransactionType type;
+
+    private List<Long> categoryId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    private BigDecimal minAmount;
+
+    private BigDecimal maxAmount;
+
+    private String description;
+}
@@ -0,0 +1,16 @@
+package com.myfintrack.myfintrack.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTransactionResponse {
+
+    // Rows actually changed; selected rows already in the target state are not counted
+    private long affected;
+}
@@ -23,6 +23,11 @@ public class DashboardResponse {
     private List<TransactionResponse> recentTransactions;
     private List<MonthlyTrend> monthlyTrend;
 
+    // Set when some sections could not be loaded in time (parallel mode only)
+    private boolean partial;
+    @Builder.Default
+    private List<String> unavailableSections = List.of();
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,35 @@
+package com.myfintrack.myfintrack.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Rows are committed chunk by chunk, so a report
+ * with failures still means everything counted in {@code imported} is saved.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionImportReport {
+
+    private long imported;
+    private long failed;
+    private List<RowError> errors;
+
+    // Some failures were left out of errors (transactions.import.max-reported-errors)
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -7,9 +7,20 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.UUID;
 
+/**
+ * A refresh token, stored only as the SHA-256 of the value handed to the
+ * client. Every rotation revokes the presented token and issues a new one in
+ * the same family; presenting a revoked token again revokes the whole family.
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_token", columnNames = "token"), indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_user_expiry", columnList = "user_id, expiry_date"),
+        @Index(name = "idx_refresh_tokens_expiry", columnList = "expiry_date"),
+        @Index(name = "idx_refresh_tokens_revoked_at", columnList = "revoked_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,16 +31,25 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    /** Hex SHA-256 of the token; the raw value is never stored. */
+    @Column(name = "token", nullable = false, length = 64)
+    private String tokenHash;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private User user;
 
+    /** Shared by every token descended from one login. */
+    @Column(name = "family_id")
+    private UUID familyId;
+
     @Column(nullable = false)
     private Instant expiryDate;
 
     @Column(nullable = false)
     private boolean revoked;
+
+    /** Set with {@code revoked}; the purge keeps revoked rows a while for reuse detection. */
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
 }
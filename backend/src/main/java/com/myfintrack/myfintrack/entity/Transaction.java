@@ -19,7 +19,9 @@ import java.time.LocalDateTime;
         @Index(name = "idx_transactions_category_id", columnList = "category_id"),
         @Index(name = "idx_transactions_date", columnList = "transaction_date"),
         @Index(name = "idx_transactions_user_date", columnList = "user_id, transaction_date"),
-        @Index(name = "idx_transactions_user_type_date", columnList = "user_id, type, transaction_date")
+        @Index(name = "idx_transactions_user_type_date", columnList = "user_id, type, transaction_date"),
+        @Index(name = "idx_transactions_user_category_date", columnList = "user_id, category_id, transaction_date"),
+        @Index(name = "idx_transactions_user_amount", columnList = "user_id, amount")
 })
 @SQLRestriction("deleted_at IS NULL")
 @Data
@@ -0,0 +1,57 @@
+package com.myfintrack.myfintrack.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running sum and count of live (not soft-deleted) transactions per
+ * user, category, type and calendar month. Maintained by TransactionService.
+ */
+@Entity
+@Table(name = "transaction_monthly_rollup", uniqueConstraints = @UniqueConstraint(name = "transaction_monthly_rollup_unique", columnNames = {
+        "user_id", "category_id", "type", "year", "month" }), indexes = {
+                @Index(name = "idx_rollup_user_period", columnList = "user_id, year, month")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Category.TransactionType type;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
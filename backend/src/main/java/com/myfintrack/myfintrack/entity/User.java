@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Entity
@@ -50,11 +51,14 @@ public class User {
     @Column(name = "lock_time")
     private LocalDateTime lockTime;
 
+    /** How long an account stays locked after too many failed logins. */
+    public static final Duration LOCK_DURATION = Duration.ofMinutes(15);
+
     public boolean isAccountNonLocked() {
         if (lockTime == null) {
             return true;
         }
         // Unlock if lock time + 15 mins is in the past
-        return lockTime.plusMinutes(15).isBefore(LocalDateTime.now());
+        return lockTime.plus(LOCK_DURATION).isBefore(LocalDateTime.now());
     }
 }
@@ -0,0 +1,9 @@
+package com.myfintrack.myfintrack.event;
+
+/**
+ * Published inside the writing transaction whenever a user's transactions or
+ * budgets change. Listeners that derive cached state from that data react
+ * after commit.
+ */
+public record UserDataChangedEvent(Long userId) {
+}
@@ -0,0 +1,21 @@
+package com.myfintrack.myfintrack.exception;
+
+import java.time.Duration;
+
+/**
+ * A bounded resource is saturated; the request was shed rather than queued.
+ * Answered with 503 and a Retry-After header.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
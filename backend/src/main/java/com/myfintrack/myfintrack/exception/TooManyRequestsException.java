@@ -0,0 +1,21 @@
+package com.myfintrack.myfintrack.exception;
+
+import java.time.Duration;
+
+/**
+ * The client exceeded a per-client limit. Answered with 429 and a
+ * Retry-After header.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
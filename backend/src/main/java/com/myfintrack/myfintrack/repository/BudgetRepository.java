@@ -37,4 +37,24 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
             @Param("userId") Long userId,
             @Param("month") Integer month,
             @Param("year") Integer year);
+
+    // Budget progress reads fetch the category in the same statement; spent
+    // amounts come from TransactionMonthlyRollupRepository.getExpenseSpentByCategoryAndPeriod.
+
+    @Query("SELECT b FROM Budget b JOIN FETCH b.category " +
+            "WHERE b.user.id = :userId " +
+            "AND b.year = :year " +
+            "AND b.month = :month")
+    List<Budget> findWithCategoryByUserIdAndPeriod(
+            @Param("userId") Long userId,
+            @Param("month") Integer month,
+            @Param("year") Integer year);
+
+    @Query("SELECT b FROM Budget b JOIN FETCH b.category " +
+            "WHERE b.user.id = :userId " +
+            "ORDER BY b.month DESC, b.year DESC")
+    List<Budget> findWithCategoryByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT b FROM Budget b JOIN FETCH b.category WHERE b.id = :id")
+    Optional<Budget> findWithCategoryById(@Param("id") Long id);
 }
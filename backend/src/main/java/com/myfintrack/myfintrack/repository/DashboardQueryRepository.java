@@ -0,0 +1,202 @@
+package com.myfintrack.myfintrack.repository;
+
+import com.myfintrack.myfintrack.util.DateRange;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Consolidated read path for the dashboard.
+ * Every dashboard section is produced by one native statement; rows are tagged
+ * with a section name and share a common column layout. Totals and trend come
+ * from transaction_monthly_rollup, the balance from user_balances; only the
+ * recent list reads raw rows.
+ */
+@Repository
+public class DashboardQueryRepository {
+
+        public static final String SECTION_TOTAL = "TOTAL";
+        public static final String SECTION_BALANCE = "BALANCE";
+        public static final String SECTION_CATEGORY = "CATEGORY";
+        public static final String SECTION_BUDGET = "BUDGET";
+        public static final String SECTION_RECENT = "RECENT";
+        public static final String SECTION_TREND = "TREND";
+
+        // Column layout (shared by every section):
+        // amount -> TOTAL/CATEGORY total, BALANCE balance, BUDGET spent, RECENT amount, TREND income
+        // amount2 -> BUDGET monthly limit, TREND expense
+        // item_id -> BUDGET id, RECENT transaction id
+        // item_date -> BUDGET start date, RECENT transaction date
+        private static final String DASHBOARD_SQL = """
+                        WITH month_totals AS (
+                            SELECT r.type, r.category_id, r.total_amount AS total, r.transaction_count AS cnt
+                            FROM transaction_monthly_rollup r
+                            WHERE r.user_id = :userId
+                              AND r.year = :year
+                              AND r.month = :month
+                              AND r.transaction_count > 0
+                        )
+                        SELECT 'TOTAL' AS section, CAST(mt.type AS varchar) AS type,
+                               CAST(NULL AS bigint) AS category_id, CAST(NULL AS varchar) AS category_name,
+                               CAST(NULL AS varchar) AS category_color,
+                               SUM(mt.total) AS amount, CAST(NULL AS numeric) AS amount2, CAST(SUM(mt.cnt) AS bigint) AS item_count,
+                               CAST(NULL AS bigint) AS item_id, CAST(NULL AS text) AS description,
+                               CAST(NULL AS date) AS item_date, CAST(NULL AS timestamp) AS created_at,
+                               CAST(NULL AS timestamp) AS updated_at,
+                               CAST(NULL AS integer) AS period_year, CAST(NULL AS integer) AS period_month,
+                               CAST(0 AS bigint) AS position
+                        FROM month_totals mt
+                        GROUP BY mt.type
+
+                        UNION ALL
+                        SELECT 'BALANCE', NULL, NULL, NULL, NULL,
+                               ub.balance, NULL, NULL,
+                               NULL, NULL, NULL, NULL, NULL, NULL, NULL, 0
+                        FROM user_balances ub
+                        WHERE ub.user_id = :userId
+
+                        UNION ALL
+                        SELECT 'CATEGORY', mt.type, c.id, c.name, c.color,
+                               mt.total, NULL, mt.cnt,
+                               NULL, NULL, NULL, NULL, NULL, NULL, NULL,
+                               ROW_NUMBER() OVER (ORDER BY mt.total DESC)
+                        FROM month_totals mt
+                        JOIN categories c ON c.id = mt.category_id
+                        WHERE mt.type = 'EXPENSE'
+
+                        UNION ALL
+                        SELECT 'BUDGET', NULL, c.id, c.name, c.color,
+                               COALESCE(mt.total, 0), b.monthly_limit, NULL,
+                               b.id, NULL, b.start_date, NULL, NULL, b.year, b.month,
+                               ROW_NUMBER() OVER (ORDER BY b.id)
+                        FROM budgets b
+                        JOIN categories c ON c.id = b.category_id
+                        LEFT JOIN month_totals mt ON mt.category_id = b.category_id AND mt.type = 'EXPENSE'
+                        WHERE b.user_id = :userId
+                          AND b.month = :month
+                          AND b.year = :year
+
+                        UNION ALL
+                        SELECT 'RECENT', r.type, r.category_id, r.category_name, r.category_color,
+                               r.amount, NULL, NULL,
+                               r.id, r.description, r.transaction_date, r.created_at, r.updated_at, NULL, NULL,
+                               ROW_NUMBER() OVER (ORDER BY r.transaction_date DESC, r.id DESC)
+                        FROM (
+                            SELECT t.id, t.type, t.category_id, c.name AS category_name, c.color AS category_color,
+                                   t.amount, t.description, t.transaction_date, t.created_at, t.updated_at
+                            FROM transactions t
+                            JOIN categories c ON c.id = t.category_id
+                            WHERE t.user_id = :userId
+                              AND t.deleted_at IS NULL
+                              AND t.transaction_date >= :monthStart
+                              AND t.transaction_date < :monthEnd
+                            ORDER BY t.transaction_date DESC, t.id DESC
+                            LIMIT :recentLimit
+                        ) r
+
+                        UNION ALL
+                        SELECT 'TREND', NULL, NULL, NULL, NULL,
+                               SUM(CASE WHEN r.type = 'INCOME' THEN r.total_amount ELSE 0 END),
+                               SUM(CASE WHEN r.type = 'EXPENSE' THEN r.total_amount ELSE 0 END), NULL,
+                               NULL, NULL, NULL, NULL, NULL, r.year, r.month, 0
+                        FROM transaction_monthly_rollup r
+                        WHERE r.user_id = :userId
+                          AND (r.year, r.month) >= (:trendFromYear, :trendFromMonth)
+                          AND (r.year, r.month) <= (:trendToYear, :trendToMonth)
+                        GROUP BY r.year, r.month
+
+                        ORDER BY section, position
+                        """;
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @SuppressWarnings("unchecked")
+        public List<DashboardSectionRow> findDashboardSections(
+                        Long userId,
+                        DateRange period,
+                        DateRange trend,
+                        int recentLimit) {
+                YearMonth month = period.firstMonth();
+
+                NativeQuery<Object[]> query = entityManager.createNativeQuery(DASHBOARD_SQL)
+                                .unwrap(NativeQuery.class);
+                query.addScalar("section", String.class)
+                                .addScalar("type", String.class)
+                                .addScalar("category_id", Long.class)
+                                .addScalar("category_name", String.class)
+                                .addScalar("category_color", String.class)
+                                .addScalar("amount", BigDecimal.class)
+                                .addScalar("amount2", BigDecimal.class)
+                                .addScalar("item_count", Long.class)
+                                .addScalar("item_id", Long.class)
+                                .addScalar("description", String.class)
+                                .addScalar("item_date", LocalDate.class)
+                                .addScalar("created_at", LocalDateTime.class)
+                                .addScalar("updated_at", LocalDateTime.class)
+                                .addScalar("period_year", Integer.class)
+                                .addScalar("period_month", Integer.class)
+                                .addScalar("position", Long.class)
+                                .setParameter("userId", userId)
+                                .setParameter("month", month.getMonthValue())
+                                .setParameter("year", month.getYear())
+                                .setParameter("monthStart", period.start())
+                                .setParameter("monthEnd", period.end())
+                                .setParameter("trendFromYear", trend.firstMonth().getYear())
+                                .setParameter("trendFromMonth", trend.firstMonth().getMonthValue())
+                                .setParameter("trendToYear", trend.lastMonth().getYear())
+                                .setParameter("trendToMonth", trend.lastMonth().getMonthValue())
+                                .setParameter("recentLimit", recentLimit);
+
+                return query.getResultList().stream()
+                                .map(DashboardSectionRow::fromColumns)
+                                .toList();
+        }
+
+        /**
+         * One row of the consolidated dashboard statement.
+         */
+        public record DashboardSectionRow(
+                        String section,
+                        String type,
+                        Long categoryId,
+                        String categoryName,
+                        String categoryColor,
+                        BigDecimal amount,
+                        BigDecimal amount2,
+                        Long itemCount,
+                        Long itemId,
+                        String description,
+                        LocalDate itemDate,
+                        LocalDateTime createdAt,
+                        LocalDateTime updatedAt,
+                        Integer periodYear,
+                        Integer periodMonth) {
+
+                private static DashboardSectionRow fromColumns(Object[] columns) {
+                        return new DashboardSectionRow(
+                                        (String) columns[0],
+                                        (String) columns[1],
+                                        (Long) columns[2],
+                                        (String) columns[3],
+                                        (String) columns[4],
+                                        (BigDecimal) columns[5],
+                                        (BigDecimal) columns[6],
+                                        (Long) columns[7],
+                                        (Long) columns[8],
+                                        (String) columns[9],
+                                        (LocalDate) columns[10],
+                                        (LocalDateTime) columns[11],
+                                        (LocalDateTime) columns[12],
+                                        (Integer) columns[13],
+                                        (Integer) columns[14]);
+                }
+        }
+}
@@ -4,13 +4,75 @@ import com.myfintrack.myfintrack.entity.RefreshToken;
 import com.myfintrack.myfintrack.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Query("SELECT t.user.id FROM RefreshToken t WHERE t.tokenHash = :tokenHash")
+    Optional<Long> findUserIdByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Revoke a live token and return its owner in one round trip; the unique
+     * index on token makes this a single index probe however large the table.
+     * Columns: user_id, family_id, expiry_date. Empty when the token is
+     * unknown, already revoked or expired.
+     */
+    @Query(value = "UPDATE refresh_tokens SET revoked = true, revoked_at = :now " +
+            "WHERE token = :tokenHash AND revoked = false AND expiry_date > :now " +
+            "RETURNING user_id, family_id, expiry_date", nativeQuery = true)
+    List<Object[]> consume(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true, t.revokedAt = :now " +
+            "WHERE t.familyId = :familyId AND t.revoked = false")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+    /**
+     * Delete the user's oldest live tokens so at most {@code keep} remain.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN ( " +
+            "SELECT id FROM refresh_tokens " +
+            "WHERE user_id = :userId AND revoked = false AND expiry_date > :now " +
+            "ORDER BY expiry_date DESC OFFSET :keep)", nativeQuery = true)
+    int deleteOldestLive(@Param("userId") Long userId, @Param("now") Instant now, @Param("keep") int keep);
+
+    // ── Purge ──────────────────────────────────────────────────────────────────
+    // One bounded chunk per call and per transaction. SKIP LOCKED leaves rows
+    // that a concurrent rotation holds to the next chunk instead of waiting.
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN ( " +
+            "SELECT id FROM refresh_tokens WHERE expiry_date < :now " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteExpiredChunk(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN ( " +
+            "SELECT id FROM refresh_tokens WHERE revoked_at < :revokedBefore " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int deleteRevokedChunk(@Param("revokedBefore") Instant revokedBefore, @Param("limit") int limit);
+
+    /**
+     * Most recently expiring revoked tokens that can still be replayed, to warm
+     * the in-memory revocation set. Columns: token, family_id, expiry_date.
+     */
+    @Query(value = "SELECT token, family_id, expiry_date FROM refresh_tokens " +
+            "WHERE revoked = true AND expiry_date > :now " +
+            "ORDER BY expiry_date DESC LIMIT :limit", nativeQuery = true)
+    List<Object[]> findRevokedUnexpired(@Param("now") Instant now, @Param("limit") int limit);
 
     @Modifying
     int deleteByUser(User user);
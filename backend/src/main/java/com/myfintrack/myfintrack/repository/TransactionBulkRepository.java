@@ -0,0 +1,191 @@
+package com.myfintrack.myfintrack.repository;
+
+import com.myfintrack.myfintrack.dto.request.TransactionFilter;
+import com.myfintrack.myfintrack.entity.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Set-based mutations over many of one user's transactions. Each call is a
+ * single statement that locks up to {@code limit} matching rows, changes them,
+ * and folds the rows it changed into transaction_monthly_rollup and
+ * user_balances as grouped deltas, the same bookkeeping TransactionService
+ * does row by row. Ownership is part of the WHERE clause, so ids belonging to
+ * someone else simply match nothing.
+ *
+ * <p>Rows are taken in id order and rollup buckets are written in key order,
+ * so concurrent operations (and imports) for one user lock them in the same
+ * order instead of deadlocking. For a filter, pass the last id of one chunk
+ * to the next ({@link Target#after}) so each statement starts where the
+ * previous one stopped instead of wading through the rows it already changed.
+ */
+@Repository
+public class TransactionBulkRepository {
+
+        private static final String STATEMENT = """
+                        WITH target AS (
+                            SELECT t.id, t.category_id, t.type, t.amount, t.transaction_date, t.deleted_at
+                            FROM transactions t
+                            WHERE %s
+                            ORDER BY t.id
+                            LIMIT :limit
+                            FOR UPDATE
+                        ), changed AS (
+                            %s
+                            RETURNING target.id, target.category_id, target.type, target.amount,
+                                      target.transaction_date, target.deleted_at
+                        ), delta (category_id, type, transaction_date, amount, n) AS (
+                            %s
+                        ), rollup AS (
+                            INSERT INTO transaction_monthly_rollup
+                                (user_id, category_id, type, year, month, total_amount, transaction_count, updated_at)
+                            SELECT :userId, category_id, type,
+                                   CAST(EXTRACT(YEAR FROM transaction_date) AS integer) AS year,
+                                   CAST(EXTRACT(MONTH FROM transaction_date) AS integer) AS month,
+                                   SUM(amount), SUM(n), now()
+                            FROM delta
+                            GROUP BY category_id, type, EXTRACT(YEAR FROM transaction_date), EXTRACT(MONTH FROM transaction_date)
+                            ORDER BY category_id, type, year, month
+                            ON CONFLICT (user_id, category_id, type, year, month) DO UPDATE SET
+                                total_amount = transaction_monthly_rollup.total_amount + EXCLUDED.total_amount,
+                                transaction_count = transaction_monthly_rollup.transaction_count + EXCLUDED.transaction_count,
+                                updated_at = now()
+                        ), balance AS (
+                            INSERT INTO user_balances (user_id, balance, updated_at)
+                            SELECT :userId, SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END), now()
+                            FROM delta
+                            HAVING COUNT(*) > 0
+                            ON CONFLICT (user_id) DO UPDATE SET
+                                balance = user_balances.balance + EXCLUDED.balance, updated_at = now()
+                        )
+                        SELECT COUNT(*), MAX(id) FROM changed
+                        """;
+
+        private static final String LEAVING = "SELECT category_id, type, transaction_date, -amount, -1 FROM changed";
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        /** Soft-delete live rows. */
+        public Chunk softDelete(Long userId, Target target, int limit, LocalDateTime now) {
+                return execute(userId, target, limit, "t.deleted_at IS NULL",
+                                "UPDATE transactions t SET deleted_at = :now, updated_at = :now FROM target WHERE t.id = target.id",
+                                LEAVING,
+                                Map.of("now", now));
+        }
+
+        /** Bring soft-deleted rows back. */
+        public Chunk restore(Long userId, Target target, int limit, LocalDateTime now) {
+                return execute(userId, target, limit, "t.deleted_at IS NOT NULL",
+                                "UPDATE transactions t SET deleted_at = NULL, updated_at = :now FROM target WHERE t.id = target.id",
+                                "SELECT category_id, type, transaction_date, amount, 1 FROM changed",
+                                Map.of("now", now));
+        }
+
+        /** Move live rows to {@code category}, taking its type; rows already there are left alone. */
+        public Chunk recategorize(Long userId, Target target, int limit, Category category, LocalDateTime now) {
+                return execute(userId, target, limit, "t.deleted_at IS NULL AND t.category_id <> :newCategoryId",
+                                "UPDATE transactions t SET category_id = :newCategoryId, type = :newType, updated_at = :now " +
+                                                "FROM target WHERE t.id = target.id",
+                                LEAVING + " UNION ALL " +
+                                                "SELECT CAST(:newCategoryId AS bigint), CAST(:newType AS varchar), " +
+                                                "transaction_date, amount, 1 FROM changed",
+                                Map.of("newCategoryId", category.getId(), "newType", category.getType().name(), "now", now));
+        }
+
+        /** Remove rows for good, live or soft-deleted; only live ones were still in the aggregates. */
+        public Chunk purge(Long userId, Target target, int limit) {
+                return execute(userId, target, limit, "TRUE",
+                                "DELETE FROM transactions t USING target WHERE t.id = target.id",
+                                LEAVING + " WHERE deleted_at IS NULL",
+                                Map.of());
+        }
+
+        private Chunk execute(Long userId, Target target, int limit, String state, String mutation, String delta,
+                        Map<String, Object> operationParams) {
+                Map<String, Object> params = new LinkedHashMap<>(operationParams);
+                params.put("userId", userId);
+                params.put("limit", limit);
+                String where = "t.user_id = :userId AND " + state + target.predicates(params);
+
+                Query query = entityManager.createNativeQuery(STATEMENT.formatted(where, mutation, delta));
+                params.forEach(query::setParameter);
+                Object[] row = (Object[]) query.getSingleResult();
+                return new Chunk(((Number) row[0]).intValue(), row[1] == null ? null : ((Number) row[1]).longValue());
+        }
+
+        /** Rows one statement changed, and the highest id among them (null when none). */
+        public record Chunk(int changed, Long lastId) {
+        }
+
+        /**
+         * Which rows an operation applies to: an id list, or the listing
+         * filters (native counterparts of TransactionQueryRepository's),
+         * optionally only past a given id.
+         */
+        public record Target(List<Long> ids, TransactionFilter filter, Long afterId) {
+
+                public static Target ids(List<Long> ids) {
+                        return new Target(ids, null, null);
+                }
+
+                public static Target filter(TransactionFilter filter) {
+                        return new Target(null, filter, null);
+                }
+
+                public Target after(Long id) {
+                        return new Target(ids, filter, id);
+                }
+
+                private String predicates(Map<String, Object> params) {
+                        StringBuilder clause = new StringBuilder();
+                        if (afterId != null) {
+                                clause.append(" AND t.id > :afterId");
+                                params.put("afterId", afterId);
+                        }
+                        if (ids != null) {
+                                clause.append(" AND t.id IN (:ids)");
+                                params.put("ids", ids);
+                                return clause.toString();
+                        }
+                        if (filter.getType() != null) {
+                                clause.append(" AND t.type = :type");
+                                params.put("type", filter.getType().name());
+                        }
+                        if (filter.getCategoryId() != null && !filter.getCategoryId().isEmpty()) {
+                                clause.append(" AND t.category_id IN (:categoryIds)");
+                                params.put("categoryIds", filter.getCategoryId());
+                        }
+                        if (filter.getStartDate() != null) {
+                                clause.append(" AND t.transaction_date >= :startDate");
+                                params.put("startDate", filter.getStartDate());
+                        }
+                        if (filter.getEndDate() != null) {
+                                clause.append(" AND t.transaction_date <= :endDate");
+                                params.put("endDate", filter.getEndDate());
+                        }
+                        if (filter.getMinAmount() != null) {
+                                clause.append(" AND t.amount >= :minAmount");
+                                params.put("minAmount", filter.getMinAmount());
+                        }
+                        if (filter.getMaxAmount() != null) {
+                                clause.append(" AND t.amount <= :maxAmount");
+                                params.put("maxAmount", filter.getMaxAmount());
+                        }
+                        if (filter.getDescription() != null && !filter.getDescription().isBlank()) {
+                                clause.append(" AND LOWER(t.description) LIKE :description ESCAPE '!'");
+                                params.put("description", "%" + TransactionQueryRepository.escapeLike(
+                                                filter.getDescription().strip().toLowerCase(Locale.ROOT)) + "%");
+                        }
+                        return clause.toString();
+                }
+        }
+}
@@ -0,0 +1,123 @@
+package com.myfintrack.myfintrack.repository;
+
+import com.myfintrack.myfintrack.entity.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bulk inserts for imports, bypassing the persistence context. Transaction ids
+ * come from an IDENTITY column, so Hibernate has to run one INSERT per entity
+ * to learn each id and cannot batch them. Instead a chunk is streamed with
+ * COPY into a session-local staging table, and moved from there into
+ * transactions, the monthly rollup and the balance snapshot with one
+ * set-based statement each: five round trips per chunk whatever its size.
+ *
+ * <p>Every method must run inside the chunk's transaction; the staging table
+ * empties itself on commit or rollback.
+ */
+@Repository
+public class TransactionImportRepository {
+
+        private static final String CREATE_STAGING = "CREATE TEMPORARY TABLE IF NOT EXISTS transaction_import (" +
+                        "category_id bigint NOT NULL, type varchar(20) NOT NULL, amount numeric(15, 2) NOT NULL, " +
+                        "description text, transaction_date date NOT NULL) ON COMMIT DELETE ROWS";
+
+        private static final String COPY = "COPY transaction_import " +
+                        "(category_id, type, amount, description, transaction_date) FROM STDIN (FORMAT csv)";
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        /**
+         * Stream {@code rows} into the staging table.
+         *
+         * @return number of rows staged
+         */
+        public long stage(List<Row> rows) {
+                StringBuilder data = new StringBuilder(rows.size() * 64);
+                for (Row row : rows) {
+                        data.append(row.categoryId()).append(',')
+                                        .append(row.type().name()).append(',')
+                                        .append(row.amount().toPlainString()).append(',');
+                        // Unquoted empty is NULL in COPY csv, quoted empty is an empty string
+                        if (row.description() != null) {
+                                data.append('"').append(row.description().replace("\"", "\"\"")).append('"');
+                        }
+                        data.append(',').append(row.transactionDate()).append('\n');
+                }
+                return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                        try (var statement = connection.createStatement()) {
+                                statement.execute(CREATE_STAGING);
+                        }
+                        try {
+                                return connection.unwrap(PGConnection.class).getCopyAPI()
+                                                .copyIn(COPY, new StringReader(data.toString()));
+                        } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                        }
+                });
+        }
+
+        public int insertStaged(Long userId, LocalDateTime now) {
+                return entityManager.createNativeQuery("INSERT INTO transactions " +
+                                "(user_id, category_id, type, amount, description, transaction_date, created_at, updated_at) " +
+                                "SELECT :userId, category_id, type, amount, description, transaction_date, :now, :now " +
+                                "FROM transaction_import")
+                                .setParameter("userId", userId)
+                                .setParameter("now", now)
+                                .executeUpdate();
+        }
+
+        /**
+         * The bucket-wise equivalent of one rollup applyDelta per staged row.
+         * Buckets are written in key order so concurrent imports and bulk
+         * operations for one user lock them in the same order and cannot deadlock.
+         */
+        public int addStagedToRollup(Long userId) {
+                return entityManager.createNativeQuery("INSERT INTO transaction_monthly_rollup " +
+                                "(user_id, category_id, type, year, month, total_amount, transaction_count, updated_at) " +
+                                "SELECT :userId, category_id, type, " +
+                                "CAST(EXTRACT(YEAR FROM transaction_date) AS integer) AS year, " +
+                                "CAST(EXTRACT(MONTH FROM transaction_date) AS integer) AS month, " +
+                                "SUM(amount), COUNT(*), now() " +
+                                "FROM transaction_import " +
+                                "GROUP BY category_id, type, " +
+                                "EXTRACT(YEAR FROM transaction_date), EXTRACT(MONTH FROM transaction_date) " +
+                                "ORDER BY category_id, type, year, month " +
+                                "ON CONFLICT (user_id, category_id, type, year, month) DO UPDATE SET " +
+                                "total_amount = transaction_monthly_rollup.total_amount + EXCLUDED.total_amount, " +
+                                "transaction_count = transaction_monthly_rollup.transaction_count + EXCLUDED.transaction_count, " +
+                                "updated_at = now()")
+                                .setParameter("userId", userId)
+                                .executeUpdate();
+        }
+
+        public int addStagedToBalance(Long userId) {
+                return entityManager.createNativeQuery("INSERT INTO user_balances (user_id, balance, updated_at) " +
+                                "SELECT :userId, SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END), now() " +
+                                "FROM transaction_import " +
+                                "ON CONFLICT (user_id) DO UPDATE SET " +
+                                "balance = user_balances.balance + EXCLUDED.balance, updated_at = now()")
+                                .setParameter("userId", userId)
+                                .executeUpdate();
+        }
+
+        public record Row(
+                        Long categoryId,
+                        Category.TransactionType type,
+                        BigDecimal amount,
+                        String description,
+                        LocalDate transactionDate) {
+        }
+}
@@ -0,0 +1,187 @@
+package com.myfintrack.myfintrack.repository;
+
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.TransactionMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public interface TransactionMonthlyRollupRepository extends JpaRepository<TransactionMonthlyRollup, Long> {
+
+        /**
+         * Atomically add a signed delta to one rollup bucket, creating it if needed.
+         */
+        @Modifying
+        @Query(value = "INSERT INTO transaction_monthly_rollup " +
+                        "(user_id, category_id, type, year, month, total_amount, transaction_count, updated_at) " +
+                        "VALUES (:userId, :categoryId, :type, :year, :month, :amount, :count, now()) " +
+                        "ON CONFLICT (user_id, category_id, type, year, month) DO UPDATE SET " +
+                        "total_amount = transaction_monthly_rollup.total_amount + EXCLUDED.total_amount, " +
+                        "transaction_count = transaction_monthly_rollup.transaction_count + EXCLUDED.transaction_count, " +
+                        "updated_at = now()", nativeQuery = true)
+        int applyDelta(
+                        @Param("userId") Long userId,
+                        @Param("categoryId") Long categoryId,
+                        @Param("type") String type,
+                        @Param("year") int year,
+                        @Param("month") int month,
+                        @Param("amount") BigDecimal amount,
+                        @Param("count") long count);
+
+        // ── Dashboard / budget reads ───────────────────────────────────────────────
+
+        @Query("SELECT SUM(r.totalAmount) FROM TransactionMonthlyRollup r " +
+                        "WHERE r.userId = :userId " +
+                        "AND r.type = :type " +
+                        "AND r.year = :year " +
+                        "AND r.month = :month")
+        BigDecimal getTotalByTypeAndMonth(
+                        @Param("userId") Long userId,
+                        @Param("type") Category.TransactionType type,
+                        @Param("month") int month,
+                        @Param("year") int year);
+
+        @Query("SELECT SUM(r.totalAmount) FROM TransactionMonthlyRollup r " +
+                        "WHERE r.userId = :userId " +
+                        "AND r.type = :type " +
+                        "AND r.year = :year " +
+                        "AND r.month = :month " +
+                        "AND r.categoryId = :categoryId")
+        BigDecimal getTotalByTypeAndMonthAndCategoryId(
+                        @Param("userId") Long userId,
+                        @Param("type") Category.TransactionType type,
+                        @Param("month") int month,
+                        @Param("year") int year,
+                        @Param("categoryId") Long categoryId);
+
+        @Query("SELECT SUM(r.totalAmount) FROM TransactionMonthlyRollup r " +
+                        "WHERE r.userId = :userId " +
+                        "AND r.type = :type " +
+                        "AND r.year = :year " +
+                        "AND r.month = :month " +
+                        "AND r.categoryId NOT IN :excludedCategoryIds")
+        BigDecimal getTotalByTypeAndMonthAndCategoryNotIn(
+                        @Param("userId") Long userId,
+                        @Param("type") Category.TransactionType type,
+                        @Param("month") int month,
+                        @Param("year") int year,
+                        @Param("excludedCategoryIds") List<Long> excludedCategoryIds);
+
+        @Query("SELECT c.id as categoryId, c.name as categoryName, c.color as categoryColor, " +
+                        "r.totalAmount as total, r.transactionCount as count " +
+                        "FROM TransactionMonthlyRollup r " +
+                        "JOIN Category c ON c.id = r.categoryId " +
+                        "WHERE r.userId = :userId " +
+                        "AND r.type = 'EXPENSE' " +
+                        "AND r.year = :year " +
+                        "AND r.month = :month " +
+                        "AND r.transactionCount > 0 " +
+                        "ORDER BY r.totalAmount DESC")
+        List<Map<String, Object>> getExpenseByCategory(
+                        @Param("userId") Long userId,
+                        @Param("month") int month,
+                        @Param("year") int year);
+
+        /**
+         * Expense totals per category and month for a set of categories within
+         * a period span, in one grouped read. Used to fill budget progress.
+         * Returns a list of maps with keys: categoryId, year, month, total.
+         */
+        @Query("SELECT r.categoryId as categoryId, r.year as year, r.month as month, " +
+                        "SUM(r.totalAmount) as total " +
+                        "FROM TransactionMonthlyRollup r " +
+                        "WHERE r.userId = :userId " +
+                        "AND r.type = 'EXPENSE' " +
+                        "AND r.categoryId IN :categoryIds " +
+                        "AND (r.year, r.month) >= (:fromYear, :fromMonth) " +
+                        "AND (r.year, r.month) <= (:toYear, :toMonth) " +
+                        "GROUP BY r.categoryId, r.year, r.month")
+        List<Map<String, Object>> getExpenseSpentByCategoryAndPeriod(
+                        @Param("userId") Long userId,
+                        @Param("categoryIds") Collection<Long> categoryIds,
+                        @Param("fromYear") int fromYear,
+                        @Param("fromMonth") int fromMonth,
+                        @Param("toYear") int toYear,
+                        @Param("toMonth") int toMonth);
+
+        /**
+         * Monthly income and expense from one calendar month through another (inclusive).
+         * Row comparison keeps the predicate a range scan on idx_rollup_user_period.
+         * Returns a list of maps with keys: year, month, income, expense.
+         */
+        @Query("SELECT new map(r.year as year, r.month as month, " +
+                        "SUM(CASE WHEN r.type = 'INCOME' THEN r.totalAmount ELSE 0 END) as income, " +
+                        "SUM(CASE WHEN r.type = 'EXPENSE' THEN r.totalAmount ELSE 0 END) as expense) " +
+                        "FROM TransactionMonthlyRollup r " +
+                        "WHERE r.userId = :userId " +
+                        "AND (r.year, r.month) >= (:fromYear, :fromMonth) " +
+                        "AND (r.year, r.month) <= (:toYear, :toMonth) " +
+                        "GROUP BY r.year, r.month " +
+                        "ORDER BY r.year, r.month")
+        List<Map<String, Object>> getMonthlyTrend(
+                        @Param("userId") Long userId,
+                        @Param("fromYear") int fromYear,
+                        @Param("fromMonth") int fromMonth,
+                        @Param("toYear") int toYear,
+                        @Param("toMonth") int toMonth);
+
+        // ── Maintenance ────────────────────────────────────────────────────────────
+
+        /**
+         * Blocks concurrent rollup upserts until the surrounding transaction ends,
+         * so a rebuild sees a consistent set of committed transactions.
+         */
+        @Modifying
+        @Query(value = "LOCK TABLE transaction_monthly_rollup IN EXCLUSIVE MODE", nativeQuery = true)
+        void lockForRebuild();
+
+        @Modifying
+        @Query(value = "DELETE FROM transaction_monthly_rollup", nativeQuery = true)
+        int deleteAllRollups();
+
+        @Modifying
+        @Query(value = "INSERT INTO transaction_monthly_rollup " +
+                        "(user_id, category_id, type, year, month, total_amount, transaction_count, updated_at) " +
+                        "SELECT user_id, category_id, type, " +
+                        "CAST(EXTRACT(YEAR FROM transaction_date) AS integer), " +
+                        "CAST(EXTRACT(MONTH FROM transaction_date) AS integer), " +
+                        "SUM(amount), COUNT(*), now() " +
+                        "FROM transactions " +
+                        "WHERE deleted_at IS NULL " +
+                        "GROUP BY user_id, category_id, type, " +
+                        "EXTRACT(YEAR FROM transaction_date), EXTRACT(MONTH FROM transaction_date)", nativeQuery = true)
+        int insertFromTransactions();
+
+        /**
+         * Buckets whose stored sum or count differs from a full recomputation.
+         * Columns: user_id, category_id, type, year, month,
+         * expected_total, actual_total, expected_count, actual_count.
+         */
+        @Query(value = "WITH expected AS ( " +
+                        "SELECT user_id, category_id, type, " +
+                        "CAST(EXTRACT(YEAR FROM transaction_date) AS integer) AS year, " +
+                        "CAST(EXTRACT(MONTH FROM transaction_date) AS integer) AS month, " +
+                        "SUM(amount) AS total_amount, COUNT(*) AS transaction_count " +
+                        "FROM transactions WHERE deleted_at IS NULL " +
+                        "GROUP BY 1, 2, 3, 4, 5) " +
+                        "SELECT COALESCE(e.user_id, r.user_id), COALESCE(e.category_id, r.category_id), " +
+                        "COALESCE(e.type, r.type), COALESCE(e.year, r.year), COALESCE(e.month, r.month), " +
+                        "COALESCE(e.total_amount, 0), COALESCE(r.total_amount, 0), " +
+                        "COALESCE(e.transaction_count, 0), COALESCE(r.transaction_count, 0) " +
+                        "FROM expected e " +
+                        "FULL OUTER JOIN transaction_monthly_rollup r " +
+                        "ON r.user_id = e.user_id AND r.category_id = e.category_id AND r.type = e.type " +
+                        "AND r.year = e.year AND r.month = e.month " +
+                        "WHERE COALESCE(e.total_amount, 0) <> COALESCE(r.total_amount, 0) " +
+                        "OR COALESCE(e.transaction_count, 0) <> COALESCE(r.transaction_count, 0) " +
+                        "ORDER BY 1, 4, 5", nativeQuery = true)
+        List<Object[]> findDrift();
+}
@@ -0,0 +1,310 @@
+package com.myfintrack.myfintrack.repository;
+
+import com.myfintrack.myfintrack.dto.request.TransactionFilter;
+import com.myfintrack.myfintrack.dto.response.TransactionResponse;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.util.SearchCursor;
+import com.myfintrack.myfintrack.util.TransactionCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Listing reads of a user's transactions, selected straight into response
+ * DTOs with the category joined in the same statement: no entities are
+ * hydrated, so there are no lazy category loads and nothing for the
+ * persistence context to snapshot or dirty-check.
+ *
+ * <p>Only the filters actually given end up in the statement, so every
+ * combination is planned on its own rather than through catch-all
+ * {@code (:x IS NULL OR ...)} predicates. user_id leads every index, and the
+ * remaining filter picks which one the planner can range-scan:
+ * <ul>
+ * <li>no filter, date range, cursor, export: idx_transactions_user_date (user_id, transaction_date)</li>
+ * <li>type: idx_transactions_user_type_date (user_id, type, transaction_date)</li>
+ * <li>category set: idx_transactions_user_category_date (user_id, category_id, transaction_date),
+ * one range per category</li>
+ * <li>amount range: idx_transactions_user_amount (user_id, amount)</li>
+ * </ul>
+ * When several apply, the planner takes the most selective one (or ANDs two
+ * bitmaps) and checks the rest as filters. The description filter is only
+ * evaluated on rows already narrowed to one user; {@link #search} is the
+ * indexed way to find text (see SearchSchemaInitializer for its indexes).
+ */
+@Repository
+public class TransactionQueryRepository {
+
+        private static final String SELECT = "SELECT new com.myfintrack.myfintrack.dto.response.TransactionResponse(" +
+                        "t.id, c.id, c.name, c.color, t.type, t.amount, t.description, " +
+                        "t.transactionDate, t.createdAt, t.updatedAt) " +
+                        "FROM Transaction t JOIN t.category c ";
+
+        private static final String ORDER = " ORDER BY t.transactionDate DESC, t.id DESC";
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        /**
+         * Keyset page: up to {@code limit} rows strictly after {@code after}
+         * (null for the first page). No OFFSET and no COUNT.
+         */
+        public List<TransactionResponse> findPage(
+                        Long userId, TransactionFilter filter, TransactionCursor after, int limit) {
+                Where where = Where.of(userId, filter);
+                if (after != null) {
+                        // The redundant <= keeps the date bound usable as an index condition
+                        where.and("t.transactionDate <= :afterDate" +
+                                        " AND (t.transactionDate < :afterDate OR t.id < :afterId)");
+                        where.params.put("afterDate", after.transactionDate());
+                        where.params.put("afterId", after.id());
+                }
+                return where.bind(entityManager.createQuery(SELECT + where + ORDER, TransactionResponse.class))
+                                .setMaxResults(limit)
+                                .getResultList();
+        }
+
+        /** Offset page with a total, for the page/size listing. */
+        public Page<TransactionResponse> findPage(Long userId, TransactionFilter filter, Pageable pageable) {
+                Where where = Where.of(userId, filter);
+                List<TransactionResponse> content = where
+                                .bind(entityManager.createQuery(SELECT + where + ORDER, TransactionResponse.class))
+                                .setFirstResult((int) pageable.getOffset())
+                                .setMaxResults(pageable.getPageSize())
+                                .getResultList();
+                // Skips the count when this page already shows where the result ends
+                return PageableExecutionUtils.getPage(content, pageable, () -> where
+                                .bind(entityManager.createQuery("SELECT COUNT(t) FROM Transaction t " + where, Long.class))
+                                .getSingleResult());
+        }
+
+        /**
+         * Hands every row matching {@code filter} to {@code sink} as it is
+         * read, oldest first, and returns how many there were. The statement
+         * runs as a forward-only cursor fetching {@code fetchSize} rows per
+         * round trip (Postgres only honours that inside a transaction, so
+         * callers must open one) and rows are never collected, so memory
+         * stays flat whatever the row count.
+         */
+        @SuppressWarnings("unchecked")
+        public long forEach(Long userId, TransactionFilter filter, int fetchSize, Consumer<TransactionResponse> sink) {
+                Where where = Where.of(userId, filter);
+                Query<TransactionResponse> query = where.bind(entityManager.createQuery(
+                                SELECT + where + " ORDER BY t.transactionDate, t.id", TransactionResponse.class))
+                                .unwrap(Query.class);
+                long rows = 0;
+                try (ScrollableResults<TransactionResponse> results = query
+                                .setFetchSize(fetchSize)
+                                .setReadOnly(true)
+                                .scroll(ScrollMode.FORWARD_ONLY)) {
+                        while (results.next()) {
+                                sink.accept(results.get());
+                                rows++;
+                        }
+                }
+                return rows;
+        }
+
+        /**
+         * Soft-deleted rows, most recently deleted first. Native because the
+         * entity's deleted_at IS NULL restriction applies to every JPQL query.
+         */
+        @SuppressWarnings("unchecked")
+        public Page<TransactionResponse> findDeleted(Long userId, Pageable pageable) {
+                NativeQuery<Object[]> query = entityManager.createNativeQuery("""
+                                SELECT t.id, c.id AS category_id, c.name, c.color, t.type, t.amount, t.description,
+                                       t.transaction_date, t.created_at, t.updated_at
+                                FROM transactions t
+                                JOIN categories c ON c.id = t.category_id
+                                WHERE t.user_id = :userId AND t.deleted_at IS NOT NULL
+                                ORDER BY t.deleted_at DESC, t.id DESC
+                                """)
+                                .unwrap(NativeQuery.class);
+                addResponseScalars(query)
+                                .setParameter("userId", userId)
+                                .setFirstResult((int) pageable.getOffset())
+                                .setMaxResults(pageable.getPageSize());
+                List<Object[]> rows = query.getResultList();
+                List<TransactionResponse> content = rows.stream()
+                                .map(TransactionQueryRepository::toResponse)
+                                .toList();
+                return PageableExecutionUtils.getPage(content, pageable, () -> ((Number) entityManager
+                                .createNativeQuery("SELECT COUNT(*) FROM transactions "
+                                                + "WHERE user_id = :userId AND deleted_at IS NOT NULL")
+                                .setParameter("userId", userId)
+                                .getSingleResult()).longValue());
+        }
+
+        /**
+         * Ranked search over one user's live transactions. An exact search
+         * matches rows whose description contains the words of {@code text}
+         * (full-text) or, for a single term, contains it as a substring. A
+         * fuzzy search matches rows that closely resemble {@code text}
+         * (trigram word similarity, which tolerates typos); it is the costlier
+         * index scan, so callers only run it when the exact search finds
+         * nothing. Rows come back by score, the sum of ts_rank and word
+         * similarity, then id; up to {@code limit} rows strictly after
+         * {@code after}.
+         */
+        @SuppressWarnings("unchecked")
+        public List<SearchHit> search(Long userId, String text, boolean fuzzy, SearchCursor after, int limit) {
+                String match;
+                if (fuzzy) {
+                        match = ":text <% t.description";
+                } else {
+                        match = "t.search_vector @@ websearch_to_tsquery('simple', :text)";
+                        if (text.chars().noneMatch(Character::isWhitespace)) {
+                                match += " OR t.description ILIKE :pattern ESCAPE '!'";
+                        }
+                }
+                String sql = """
+                                SELECT t.id, c.id AS category_id, c.name, c.color, t.type, t.amount, t.description,
+                                       t.transaction_date, t.created_at, t.updated_at, s.score
+                                FROM transactions t
+                                JOIN categories c ON c.id = t.category_id
+                                CROSS JOIN LATERAL (
+                                    SELECT CAST(ts_rank(t.search_vector, websearch_to_tsquery('simple', :text))
+                                           + word_similarity(:text, coalesce(t.description, '')) AS real) AS score
+                                ) s
+                                WHERE t.user_id = :userId
+                                  AND t.deleted_at IS NULL
+                                  AND (%s)
+                                """.formatted(match)
+                                + (after != null
+                                                ? " AND (s.score < CAST(:afterScore AS real)"
+                                                                + " OR s.score = CAST(:afterScore AS real) AND t.id < :afterId)"
+                                                : "")
+                                + " ORDER BY s.score DESC, t.id DESC";
+                NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+                addResponseScalars(query)
+                                .addScalar("score", Float.class)
+                                .setParameter("userId", userId)
+                                .setParameter("text", text)
+                                .setMaxResults(limit);
+                if (match.contains(":pattern")) {
+                        query.setParameter("pattern", "%" + escapeLike(text) + "%");
+                }
+                if (after != null) {
+                        query.setParameter("afterScore", after.score());
+                        query.setParameter("afterId", after.id());
+                }
+                List<Object[]> rows = query.getResultList();
+                return rows.stream()
+                                .map(columns -> new SearchHit(toResponse(columns), (Float) columns[10]))
+                                .toList();
+        }
+
+        public record SearchHit(TransactionResponse transaction, float score) {
+        }
+
+        /** Native column layout shared by the deleted listing and search. */
+        private static NativeQuery<Object[]> addResponseScalars(NativeQuery<Object[]> query) {
+                return query.addScalar("id", Long.class)
+                                .addScalar("category_id", Long.class)
+                                .addScalar("name", String.class)
+                                .addScalar("color", String.class)
+                                .addScalar("type", String.class)
+                                .addScalar("amount", BigDecimal.class)
+                                .addScalar("description", String.class)
+                                .addScalar("transaction_date", LocalDate.class)
+                                .addScalar("created_at", LocalDateTime.class)
+                                .addScalar("updated_at", LocalDateTime.class);
+        }
+
+        private static TransactionResponse toResponse(Object[] columns) {
+                return new TransactionResponse(
+                                (Long) columns[0],
+                                (Long) columns[1],
+                                (String) columns[2],
+                                (String) columns[3],
+                                Category.TransactionType.valueOf((String) columns[4]),
+                                (BigDecimal) columns[5],
+                                (String) columns[6],
+                                (LocalDate) columns[7],
+                                (LocalDateTime) columns[8],
+                                (LocalDateTime) columns[9]);
+        }
+
+        /** Escapes LIKE wildcards for {@code ESCAPE '!'}. */
+        static String escapeLike(String text) {
+                return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        }
+
+        /** WHERE clause plus its parameters, built from the filters that are set. */
+        private static final class Where {
+
+                private final StringBuilder clause = new StringBuilder("WHERE t.user.id = :userId");
+                private final Map<String, Object> params = new LinkedHashMap<>();
+
+                static Where of(Long userId, TransactionFilter filter) {
+                        Where where = new Where();
+                        where.params.put("userId", userId);
+                        if (filter == null) {
+                                return where;
+                        }
+                        if (filter.getType() != null) {
+                                where.and("t.type = :type").params.put("type", filter.getType());
+                        }
+                        List<Long> categoryIds = filter.getCategoryId();
+                        if (categoryIds != null && !categoryIds.isEmpty()) {
+                                if (categoryIds.size() == 1) {
+                                        where.and("t.category.id = :categoryId").params.put("categoryId", categoryIds.get(0));
+                                } else {
+                                        where.and("t.category.id IN :categoryIds").params.put("categoryIds", categoryIds);
+                                }
+                        }
+                        if (filter.getStartDate() != null) {
+                                where.and("t.transactionDate >= :startDate").params.put("startDate", filter.getStartDate());
+                        }
+                        if (filter.getEndDate() != null) {
+                                where.and("t.transactionDate <= :endDate").params.put("endDate", filter.getEndDate());
+                        }
+                        if (filter.getMinAmount() != null) {
+                                where.and("t.amount >= :minAmount").params.put("minAmount", filter.getMinAmount());
+                        }
+                        if (filter.getMaxAmount() != null) {
+                                where.and("t.amount <= :maxAmount").params.put("maxAmount", filter.getMaxAmount());
+                        }
+                        if (filter.getDescription() != null && !filter.getDescription().isBlank()) {
+                                where.and("LOWER(t.description) LIKE :description ESCAPE '!'")
+                                                .params.put("description", containsPattern(filter.getDescription()));
+                        }
+                        return where;
+                }
+
+                Where and(String predicate) {
+                        clause.append(" AND ").append(predicate);
+                        return this;
+                }
+
+                <T> TypedQuery<T> bind(TypedQuery<T> query) {
+                        params.forEach(query::setParameter);
+                        return query;
+                }
+
+                @Override
+                public String toString() {
+                        return clause.toString();
+                }
+
+                private static String containsPattern(String text) {
+                        return "%" + escapeLike(text.strip().toLowerCase(Locale.ROOT)) + "%";
+                }
+        }
+}
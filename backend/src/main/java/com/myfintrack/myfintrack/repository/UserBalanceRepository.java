@@ -0,0 +1,68 @@
+package com.myfintrack.myfintrack.repository;
+
+import com.myfintrack.myfintrack.entity.UserBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserBalanceRepository extends JpaRepository<UserBalance, Long> {
+
+        @Query("SELECT b.balance FROM UserBalance b WHERE b.userId = :userId")
+        Optional<BigDecimal> findBalanceByUserId(@Param("userId") Long userId);
+
+        /**
+         * Atomically add a signed delta to the user's balance, creating the row if needed.
+         */
+        @Modifying
+        @Query(value = "INSERT INTO user_balances (user_id, balance, updated_at) " +
+                        "VALUES (:userId, :delta, now()) " +
+                        "ON CONFLICT (user_id) DO UPDATE SET " +
+                        "balance = user_balances.balance + EXCLUDED.balance, updated_at = now()", nativeQuery = true)
+        int applyDelta(@Param("userId") Long userId, @Param("delta") BigDecimal delta);
+
+        /**
+         * Seed a snapshot for every user with live transactions in one pass; existing rows are kept.
+         */
+        @Modifying
+        @Query(value = "INSERT INTO user_balances (user_id, balance, updated_at) " +
+                        "SELECT user_id, SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END), now() " +
+                        "FROM transactions WHERE deleted_at IS NULL GROUP BY user_id " +
+                        "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+        int seedAll();
+
+        // ── Reconciliation ─────────────────────────────────────────────────────────
+
+        /**
+         * Users whose snapshot differs from a full scan of their live transactions.
+         * Columns: user_id, expected_balance, snapshot_balance.
+         */
+        @Query(value = "SELECT COALESCE(s.user_id, b.user_id), COALESCE(s.balance, 0), COALESCE(b.balance, 0) " +
+                        "FROM user_balances b " +
+                        "FULL OUTER JOIN ( " +
+                        "SELECT user_id, SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END) AS balance " +
+                        "FROM transactions WHERE deleted_at IS NULL GROUP BY user_id) s " +
+                        "ON s.user_id = b.user_id " +
+                        "WHERE COALESCE(s.balance, 0) <> COALESCE(b.balance, 0) " +
+                        "ORDER BY 1", nativeQuery = true)
+        List<Object[]> findDrift();
+
+        /**
+         * Take the row lock so in-flight mutations finish (or wait) before the recount.
+         */
+        @Query(value = "SELECT user_id FROM user_balances WHERE user_id = :userId FOR UPDATE", nativeQuery = true)
+        List<Long> lockByUserId(@Param("userId") Long userId);
+
+        @Modifying
+        @Query(value = "INSERT INTO user_balances (user_id, balance, updated_at) " +
+                        "SELECT :userId, COALESCE(SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END), 0), now() " +
+                        "FROM transactions WHERE user_id = :userId AND deleted_at IS NULL " +
+                        "ON CONFLICT (user_id) DO UPDATE SET balance = EXCLUDED.balance, updated_at = now()", nativeQuery = true)
+        int recompute(@Param("userId") Long userId);
+}
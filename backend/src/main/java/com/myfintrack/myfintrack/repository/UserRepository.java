@@ -2,8 +2,13 @@ package com.myfintrack.myfintrack.repository;
 
 import com.myfintrack.myfintrack.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +17,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Replace only the password hash, so a rehash on login cannot overwrite
+     * columns changed concurrently (failed attempts, lock time).
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    /**
+     * Persist a lock transition without reading the row first.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.failedAttempts = :failedAttempts, u.lockTime = :lockTime WHERE u.email = :email")
+    int updateLockState(@Param("email") String email, @Param("failedAttempts") int failedAttempts,
+            @Param("lockTime") LocalDateTime lockTime);
 }
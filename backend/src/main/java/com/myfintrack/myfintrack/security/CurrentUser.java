@@ -0,0 +1,18 @@
+package com.myfintrack.myfintrack.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the authenticated {@link com.myfintrack.myfintrack.entity.User} into a
+ * controller method, taken from the principal set by JwtAuthenticationFilter
+ * instead of loading it again by email.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -9,13 +9,16 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import com.myfintrack.myfintrack.service.JwtService;
+import com.myfintrack.myfintrack.service.UserDetailsImpl;
+import com.myfintrack.myfintrack.service.ValidatedToken;
 
 import java.io.IOException;
+import java.util.Objects;
 
 @Component
 @RequiredArgsConstructor
@@ -23,7 +26,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(
@@ -33,6 +36,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
         final String userEmail;
+        final Long userId;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             log.debug("No Bearer header found");
@@ -42,18 +46,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            ValidatedToken token = jwtService.validate(jwt);
+            userEmail = token.subject();
+            userId = token.userId();
             log.debug("Extracted email: {}", userEmail);
         } catch (Exception e) {
-            log.error("Failed to extract username from token", e);
+            log.warn("Rejected token: {}", e.getMessage());
             filterChain.doFilter(request, response);
             return;
         }
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            UserDetails userDetails = loadPrincipal(userEmail, userId);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (userDetails != null) {
                 log.debug("Token valid for user: {}", userEmail);
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
@@ -68,4 +74,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Cached principal for the token's subject. When the token carries a user
+     * id that the cached entry does not match (the account was replaced), the
+     * entry is reloaded once; a persisting mismatch rejects the token.
+     */
+    private UserDetails loadPrincipal(String email, Long userId) {
+        try {
+            UserDetails userDetails = principalCache.load(email);
+            if (userId == null || matches(userDetails, userId)) {
+                return userDetails;
+            }
+            principalCache.invalidate(email);
+            userDetails = principalCache.load(email);
+            if (matches(userDetails, userId)) {
+                return userDetails;
+            }
+            log.warn("Token user id does not match account: {}", email);
+        } catch (UsernameNotFoundException e) {
+            log.warn("Token subject not found: {}", email);
+        }
+        return null;
+    }
+
+    private static boolean matches(UserDetails userDetails, Long userId) {
+        return userDetails instanceof UserDetailsImpl details && Objects.equals(details.getUser().getId(), userId);
+    }
 }
@@ -0,0 +1,131 @@
+package com.myfintrack.myfintrack.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myfintrack.myfintrack.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Failed-login counters kept in memory, per email and per source IP, over a
+ * sliding window. Nothing here touches the database: AuthenticationService
+ * persists lock state only when an account changes between locked and
+ * unlocked (see {@link LoginLockWriter}).
+ *
+ * <p>Each key has its own small window object and only that object is
+ * synchronized, so contention is limited to concurrent attempts on the same
+ * email or IP. Both maps are size-bounded; under a flood of distinct keys the
+ * least useful windows are evicted first.
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private final int maxFailures;
+    private final int maxIpFailures;
+    private final long windowMillis;
+    private final long ipBlockMillis;
+    private final Cache<String, Window> emails;
+    private final Cache<String, Window> addresses;
+
+    public LoginAttemptTracker(
+            @Value("${security.login-attempts.max-failures:5}") int maxFailures,
+            @Value("${security.login-attempts.window:PT15M}") Duration window,
+            @Value("${security.login-attempts.ip-max-failures:50}") int maxIpFailures,
+            @Value("${security.login-attempts.ip-block:PT15M}") Duration ipBlock,
+            @Value("${security.login-attempts.maximum-size:100000}") long maximumSize) {
+        this.maxFailures = maxFailures;
+        this.maxIpFailures = maxIpFailures;
+        this.windowMillis = window.toMillis();
+        this.ipBlockMillis = ipBlock.toMillis();
+        Duration retention = max(max(window, ipBlock), User.LOCK_DURATION);
+        this.emails = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterAccess(retention).build();
+        this.addresses = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterAccess(retention).build();
+    }
+
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    /** Milliseconds until the email may try again, or 0 if it is not locked. */
+    public long emailLockRemaining(String email) {
+        Window window = emails.getIfPresent(normalize(email));
+        return window == null ? 0 : window.blockedFor(System.currentTimeMillis());
+    }
+
+    /** Milliseconds until the address may try again, or 0 if it is not blocked. */
+    public long ipBlockRemaining(String ip) {
+        Window window = ip == null ? null : addresses.getIfPresent(ip);
+        return window == null ? 0 : window.blockedFor(System.currentTimeMillis());
+    }
+
+    /**
+     * Count a failed attempt.
+     *
+     * @return true if this failure locked the email (the locked transition)
+     */
+    public boolean recordFailure(String email, String ip) {
+        long now = System.currentTimeMillis();
+        if (ip != null) {
+            addresses.get(ip, key -> new Window(maxIpFailures)).fail(now, windowMillis, ipBlockMillis);
+        }
+        return emails.get(normalize(email), key -> new Window(maxFailures))
+                .fail(now, windowMillis, User.LOCK_DURATION.toMillis());
+    }
+
+    /** Mirror a lock found in the database (set by another node or before a restart). */
+    public void lockedUntil(String email, long untilMillis) {
+        emails.get(normalize(email), key -> new Window(maxFailures)).blockUntil(untilMillis);
+    }
+
+    public void recordSuccess(String email) {
+        emails.invalidate(normalize(email));
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    /** Timestamps of the last {@code capacity} failures, as a ring. */
+    private static final class Window {
+
+        private final long[] failures;
+        private int next;
+        private int size;
+        private long blockedUntil;
+
+        Window(int capacity) {
+            this.failures = new long[capacity];
+        }
+
+        synchronized boolean fail(long now, long windowMillis, long blockMillis) {
+            if (blockedUntil > now) {
+                return false;
+            }
+            failures[next] = now;
+            next = (next + 1) % failures.length;
+            size = Math.min(size + 1, failures.length);
+            // Full ring: `next` now points at the oldest of the last N failures
+            if (size == failures.length && now - failures[next] <= windowMillis) {
+                blockedUntil = now + blockMillis;
+                size = 0;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized long blockedFor(long now) {
+            return Math.max(0, blockedUntil - now);
+        }
+
+        synchronized void blockUntil(long untilMillis) {
+            blockedUntil = Math.max(blockedUntil, untilMillis);
+        }
+    }
+}
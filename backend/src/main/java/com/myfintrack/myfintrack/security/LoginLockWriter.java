@@ -0,0 +1,70 @@
+package com.myfintrack.myfintrack.security;
+
+import com.myfintrack.myfintrack.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind for account lock transitions. Locks and unlocks are written by
+ * one background thread with a targeted UPDATE, so the login path never
+ * waits on the users table. The in-memory tracker is what enforces a lock on
+ * this node; the row carries it across restarts and to other nodes.
+ */
+@Component
+@Slf4j
+public class LoginLockWriter {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final ExecutorService writer;
+
+    public LoginLockWriter(UserRepository userRepository, PrincipalCache principalCache) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        // Under overload the caller writes itself rather than dropping a transition
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-lock-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public void locked(String email, int failedAttempts, LocalDateTime lockTime) {
+        write(email, failedAttempts, lockTime);
+    }
+
+    public void unlocked(String email) {
+        write(email, 0, null);
+    }
+
+    private void write(String email, int failedAttempts, LocalDateTime lockTime) {
+        writer.execute(() -> {
+            try {
+                userRepository.updateLockState(email, failedAttempts, lockTime);
+                principalCache.invalidate(email);
+            } catch (RuntimeException e) {
+                log.error("Failed to persist lock state for {}", email, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    void flush() throws InterruptedException {
+        writer.shutdown();
+        if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Pending login lock writes were dropped at shutdown");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.myfintrack.myfintrack.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of the principals loaded by JwtAuthenticationFilter, so a
+ * steady stream of requests from one user does not query the users table.
+ *
+ * <p>Cached users are detached snapshots. Changes made elsewhere (lockout,
+ * profile edits) become visible once the entry expires, or at once where the
+ * writer calls {@link #invalidate(String)}. Login still goes through the
+ * uncached {@link UserDetailsService}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> principals;
+
+    public PrincipalCache(
+            UserDetailsService userDetailsService,
+            MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.principal-cache.ttl:PT30S}") Duration ttl) {
+        this.userDetailsService = userDetailsService;
+        this.principals = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<String, UserDetails>build(), "principal");
+    }
+
+    /**
+     * Returns the cached principal for {@code email}, loading it on a miss.
+     * Unknown emails are not cached and surface as UsernameNotFoundException.
+     */
+    public UserDetails load(String email) {
+        return principals.get(email, userDetailsService::loadUserByUsername);
+    }
+
+    public void invalidate(String email) {
+        principals.invalidate(email);
+    }
+}
@@ -0,0 +1,138 @@
+package com.myfintrack.myfintrack.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myfintrack.myfintrack.dto.response.ApiResponse;
+import com.myfintrack.myfintrack.service.UserDetailsImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting, right after JwtAuthenticationFilter so the
+ * user is known. /api/auth/** is limited per client address; everything else
+ * per user id (or per address when unauthenticated). Buckets live in a
+ * size-bounded map and expire once idle for a full window, when they would be
+ * full anyway, so memory stays flat however many distinct keys show up.
+ *
+ * <p>Every limited response carries RateLimit-Limit, RateLimit-Remaining,
+ * RateLimit-Reset and RateLimit-Policy; rejections are 429 with Retry-After
+ * and counted in {@code rate_limit.rejected} (tagged by budget).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final Budget auth;
+    private final Budget api;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.maximum-keys:1000000}") long maximumKeys,
+            @Value("${rate-limit.auth.limit:20}") int authLimit,
+            @Value("${rate-limit.auth.window:PT1M}") Duration authWindow,
+            @Value("${rate-limit.api.limit:300}") int apiLimit,
+            @Value("${rate-limit.api.window:PT1M}") Duration apiWindow) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.auth = new Budget("auth", authLimit, authWindow, maximumKeys, meterRegistry);
+        this.api = new Budget("api", apiLimit, apiWindow, maximumKeys, meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/")
+                || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Budget budget;
+        String key;
+        if (request.getRequestURI().startsWith("/api/auth/")) {
+            budget = auth;
+            key = "ip:" + request.getRemoteAddr();
+        } else {
+            budget = api;
+            Long userId = currentUserId();
+            key = userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr();
+        }
+
+        TokenBucket.Result result = budget.consume(key);
+        response.setHeader("RateLimit-Limit", String.valueOf(budget.limit));
+        response.setHeader("RateLimit-Remaining", String.valueOf(result.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(ceilSeconds(result.resetNanos())));
+        response.setHeader("RateLimit-Policy", budget.policy);
+
+        if (!result.allowed()) {
+            budget.rejected.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ceilSeconds(result.retryAfterNanos()))));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    ApiResponse.error("Too many requests, please slow down"));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl details) {
+            return details.getUser().getId();
+        }
+        return null;
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static final class Budget {
+
+        private final int limit;
+        private final long intervalNanos;
+        private final String policy;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter rejected;
+
+        Budget(String name, int limit, Duration window, long maximumKeys, MeterRegistry meterRegistry) {
+            this.limit = limit;
+            this.intervalNanos = window.toNanos() / limit;
+            this.policy = limit + ";w=" + window.toSeconds();
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maximumKeys)
+                    .expireAfterAccess(window)
+                    .build();
+            this.rejected = Counter.builder("rate_limit.rejected").tag("budget", name).register(meterRegistry);
+        }
+
+        TokenBucket.Result consume(String key) {
+            long now = System.nanoTime();
+            return buckets.get(key, k -> new TokenBucket(limit, intervalNanos, now)).tryConsume(now);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.myfintrack.myfintrack.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.myfintrack.myfintrack.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-memory view of revoked refresh tokens (by hash) and of families revoked
+ * after reuse, so replayed tokens are rejected without touching the table.
+ *
+ * <p>Exact sets rather than a Bloom filter: a false positive there would still
+ * need a database check before rejecting a valid token, while an exact entry
+ * can be acted on directly, and it carries the family id needed to revoke the
+ * family. Entries live only until the token could have expired anyway and the
+ * sets are size-bounded; a miss falls back to the table, which stays
+ * authoritative. Warmed from the table at startup.
+ */
+@Component
+@Slf4j
+public class RevokedRefreshTokens {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int warmUpLimit;
+    private final Cache<String, Revoked> tokens;
+    private final Cache<UUID, Instant> families;
+
+    public RevokedRefreshTokens(
+            RefreshTokenRepository refreshTokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${security.refresh-tokens.revocation-cache.maximum-size:100000}") int maximumSize,
+            @Value("${jwt.refresh-expiration}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.warmUpLimit = maximumSize;
+        this.tokens = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .<String, Revoked>build(), "refresh-token-revocations");
+        // A family cannot outlive its newest token
+        this.families = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(refreshExpiration))
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Object[]> rows = refreshTokenRepository.findRevokedUnexpired(Instant.now(), warmUpLimit);
+        for (Object[] row : rows) {
+            tokens.put((String) row[0], new Revoked((UUID) row[1], toInstant(row[2])));
+        }
+        log.info("Loaded {} revoked refresh tokens", rows.size());
+    }
+
+    /** The revoked token's family, or null if this node has not seen it revoked. */
+    public Revoked find(String tokenHash) {
+        return tokens.getIfPresent(tokenHash);
+    }
+
+    public boolean isFamilyRevoked(UUID familyId) {
+        return familyId != null && families.getIfPresent(familyId) != null;
+    }
+
+    public void tokenRevoked(String tokenHash, UUID familyId, Instant expiresAt) {
+        tokens.put(tokenHash, new Revoked(familyId, expiresAt));
+    }
+
+    public void familyRevoked(UUID familyId) {
+        if (familyId != null) {
+            families.put(familyId, Instant.now());
+        }
+    }
+
+    private static Instant toInstant(Object value) {
+        return value instanceof Instant instant ? instant : ((Timestamp) value).toInstant();
+    }
+
+    public record Revoked(UUID familyId, Instant expiresAt) {
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Revoked> {
+
+        @Override
+        public long expireAfterCreate(String key, Revoked value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Revoked value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Revoked value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.myfintrack.myfintrack.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in the GCRA form: the whole state is one
+ * "theoretical arrival time" updated by compare-and-set, so a bucket costs a
+ * single AtomicLong and concurrent requests never block each other.
+ *
+ * <p>A bucket holds up to {@code capacity} tokens and regains one every
+ * {@code intervalNanos}.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, long intervalNanos, long nowNanos) {
+        this.intervalNanos = intervalNanos;
+        this.burstNanos = intervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take one token.
+     *
+     * @return the outcome, including tokens left and when the bucket is full again
+     */
+    Result tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long debt = next - nowNanos;
+            if (debt > burstNanos) {
+                long backlog = Math.max(current, nowNanos) - nowNanos;
+                return new Result(false, 0, backlog, debt - burstNanos);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return new Result(true, (burstNanos - debt) / intervalNanos, debt, 0);
+            }
+        }
+    }
+
+    /**
+     * @param remaining        whole tokens left after this request
+     * @param resetNanos       time until the bucket is full again
+     * @param retryAfterNanos  time until the next token, when rejected
+     */
+    record Result(boolean allowed, long remaining, long resetNanos, long retryAfterNanos) {
+    }
+}
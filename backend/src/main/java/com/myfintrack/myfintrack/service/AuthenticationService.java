@@ -4,15 +4,22 @@ import com.myfintrack.myfintrack.dto.request.LoginRequest;
 import com.myfintrack.myfintrack.dto.request.RegisterRequest;
 import com.myfintrack.myfintrack.dto.response.AuthResponse;
 import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.exception.UnauthorizedException;
 import com.myfintrack.myfintrack.repository.UserRepository;
+import com.myfintrack.myfintrack.exception.TooManyRequestsException;
+import com.myfintrack.myfintrack.security.LoginAttemptTracker;
+import com.myfintrack.myfintrack.security.LoginLockWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +31,8 @@ public class AuthenticationService {
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
     private final AuthenticationManager authenticationManager;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final LoginLockWriter loginLockWriter;
 
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -47,7 +56,7 @@ public class AuthenticationService {
 
         return AuthResponse.builder()
                 .accessToken(jwtToken)
-                .refreshToken(refreshToken.getToken())
+                .refreshToken(refreshToken.token())
                 .userId(savedUser.getId())
                 .email(savedUser.getEmail())
                 .fullName(savedUser.getFullName())
@@ -55,41 +64,55 @@ public class AuthenticationService {
     }
 
     public AuthResponse authenticate(LoginRequest request) {
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
+        return authenticate(request, null);
+    }
+
+    /**
+     * Locked accounts and blocked addresses are turned away from memory,
+     * before any database read or BCrypt work. Failures are only counted in
+     * memory; the users row is written when an account becomes locked or
+     * unlocked.
+     */
+    public AuthResponse authenticate(LoginRequest request, String clientIp) {
+        String email = request.getEmail();
+
+        long ipBlocked = loginAttemptTracker.ipBlockRemaining(clientIp);
+        if (ipBlocked > 0) {
+            log.warn("Login attempt from blocked address: {}", clientIp);
+            throw new TooManyRequestsException("Too many failed sign-in attempts. Try again later.",
+                    Duration.ofMillis(ipBlocked));
+        }
+        if (loginAttemptTracker.emailLockRemaining(email) > 0) {
+            log.warn("Login attempt for locked account: {}", email);
+            throw new LockedException("Account is locked due to too many failed attempts. Try again later.");
+        }
+
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            throw failedAttempt(null, email, clientIp, new BadCredentialsException("Invalid email or password"));
+        }
 
         if (!user.isAccountNonLocked()) {
-            log.warn("Login attempt for locked account: {}", request.getEmail());
+            // Locked on another node or before a restart
+            loginAttemptTracker.lockedUntil(email, user.getLockTime().plus(User.LOCK_DURATION)
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            log.warn("Login attempt for locked account: {}", email);
             throw new LockedException("Account is locked due to too many failed attempts. Try again later.");
         }
 
         try {
             authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
-                            request.getEmail(),
+                            email,
                             request.getPassword()));
-
-            log.info("User authenticated successfully: {}", request.getEmail());
-
-            if (user.getFailedAttempts() > 0) {
-                user.setFailedAttempts(0);
-                user.setLockTime(null);
-                userRepository.save(user);
-            }
-
         } catch (BadCredentialsException e) {
-            int attempts = user.getFailedAttempts() + 1;
-            user.setFailedAttempts(attempts);
-
-            if (attempts >= 5) {
-                user.setLockTime(LocalDateTime.now());
-                userRepository.save(user);
-                log.warn("Account locked for user: {} due to too many failed attempts", request.getEmail());
-                throw new LockedException("Account locked due to 5 failed attempts.");
-            }
-
-            userRepository.save(user);
-            throw e;
+            throw failedAttempt(user, email, clientIp, e);
+        }
+
+        log.info("User authenticated successfully: {}", email);
+        loginAttemptTracker.recordSuccess(email);
+        if (user.getFailedAttempts() > 0 || user.getLockTime() != null) {
+            loginLockWriter.unlocked(user.getEmail());
         }
 
         var jwtToken = jwtService.generateToken(new UserDetailsImpl(user));
@@ -97,10 +120,55 @@ public class AuthenticationService {
 
         return AuthResponse.builder()
                 .accessToken(jwtToken)
-                .refreshToken(refreshToken.getToken())
+                .refreshToken(refreshToken.token())
                 .userId(user.getId())
                 .email(user.getEmail())
                 .fullName(user.getFullName())
                 .build();
     }
+
+    /**
+     * Rotate the refresh token and issue a new access token for its owner.
+     * The account is checked before the token is consumed: a rotation that is
+     * then refused would leave the client holding a used token, and its next
+     * refresh would look like theft and revoke the whole family.
+     */
+    public AuthResponse refresh(String refreshToken) {
+        Long ownerId = refreshTokenService.findOwnerId(refreshToken).orElse(null);
+        if (ownerId == null) {
+            // Unknown or replayed; rotate rejects it (and revokes the family of a replay)
+            refreshTokenService.rotate(refreshToken);
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+        User user = userRepository.findById(ownerId)
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        if (!user.isEnabled()) {
+            throw new DisabledException("Account is disabled.");
+        }
+        if (!user.isAccountNonLocked()) {
+            throw new LockedException("Account is locked due to too many failed attempts. Try again later.");
+        }
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        return AuthResponse.builder()
+                .accessToken(jwtService.generateToken(new UserDetailsImpl(user)))
+                .refreshToken(rotation.next().token())
+                .userId(user.getId())
+                .email(user.getEmail())
+                .fullName(user.getFullName())
+                .build();
+    }
+
+    private RuntimeException failedAttempt(User user, String email, String clientIp, BadCredentialsException e) {
+        if (!loginAttemptTracker.recordFailure(email, clientIp)) {
+            return e;
+        }
+        // Unknown emails lock the same way, so the response does not reveal which exist
+        if (user != null) {
+            loginLockWriter.locked(user.getEmail(), loginAttemptTracker.getMaxFailures(), LocalDateTime.now());
+        }
+        log.warn("Account locked for user: {} due to too many failed attempts", email);
+        return new LockedException(
+                "Account locked due to " + loginAttemptTracker.getMaxFailures() + " failed attempts.");
+    }
 }
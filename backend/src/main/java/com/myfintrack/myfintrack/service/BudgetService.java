@@ -6,17 +6,25 @@ import com.myfintrack.myfintrack.dto.response.BudgetSummaryResponse;
 import com.myfintrack.myfintrack.entity.Budget;
 import com.myfintrack.myfintrack.entity.Category;
 import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.event.UserDataChangedEvent;
 import com.myfintrack.myfintrack.exception.BadRequestException;
 import com.myfintrack.myfintrack.exception.ResourceNotFoundException;
 import com.myfintrack.myfintrack.repository.BudgetRepository;
-import com.myfintrack.myfintrack.repository.TransactionRepository;
+import com.myfintrack.myfintrack.repository.TransactionMonthlyRollupRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,8 +32,10 @@ import java.util.stream.Collectors;
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final TransactionRepository transactionRepository;
+    private final TransactionMonthlyRollupRepository rollupRepository;
     private final CategoryService categoryService;
+    private final ResponseCacheService responseCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public BudgetResponse createBudget(User user, BudgetRequest request) {
@@ -51,26 +61,31 @@ public class BudgetService {
                 .build();
 
         budget = budgetRepository.save(budget);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
         return mapToResponse(budget, user.getId());
     }
 
+    @Transactional(readOnly = true)
     public List<BudgetResponse> getBudgets(User user, Integer month, Integer year) {
         List<Budget> budgets;
 
         if (month != null && year != null) {
-            budgets = budgetRepository.findByUserIdAndMonthAndYear(user.getId(), month, year);
+            budgets = budgetRepository.findWithCategoryByUserIdAndPeriod(user.getId(), month, year);
         } else {
-            budgets = budgetRepository.findByUserIdOrderByMonthDescYearDesc(user.getId());
+            budgets = budgetRepository.findWithCategoryByUserId(user.getId());
         }
 
-        return budgets.stream()
-                .map(budget -> mapToResponse(budget, user.getId()))
-                .collect(Collectors.toList());
+        return mapToResponses(budgets, user.getId());
     }
 
     public BudgetSummaryResponse getEnvelopeSummary(User user, int month, int year) {
+        return responseCache.budgetSummary(user.getId(), month, year,
+                () -> loadEnvelopeSummary(user, month, year));
+    }
+
+    private BudgetSummaryResponse loadEnvelopeSummary(User user, int month, int year) {
         // 1. Total Income
-        BigDecimal totalIncome = transactionRepository.getTotalByTypeAndMonth(
+        BigDecimal totalIncome = rollupRepository.getTotalByTypeAndMonth(
                 user.getId(), Category.TransactionType.INCOME, month, year);
         if (totalIncome == null)
             totalIncome = BigDecimal.ZERO;
@@ -91,11 +106,11 @@ public class BudgetService {
         BigDecimal totalUnbudgetedSpent;
         if (budgetedCategoryIds.isEmpty()) {
             // If no budgets, ALL expenses are unbudgeted
-            totalUnbudgetedSpent = transactionRepository.getTotalByTypeAndMonth(
+            totalUnbudgetedSpent = rollupRepository.getTotalByTypeAndMonth(
                     user.getId(), Category.TransactionType.EXPENSE, month, year);
         } else {
             // Sum expenses where category is NOT in budgeted list
-            totalUnbudgetedSpent = transactionRepository.getTotalByTypeAndMonthAndCategoryNotIn(
+            totalUnbudgetedSpent = rollupRepository.getTotalByTypeAndMonthAndCategoryNotIn(
                     user.getId(), Category.TransactionType.EXPENSE, month, year, budgetedCategoryIds);
         }
         if (totalUnbudgetedSpent == null)
@@ -118,8 +133,9 @@ public class BudgetService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public BudgetResponse getBudgetById(User user, Long id) {
-        Budget budget = budgetRepository.findById(id)
+        Budget budget = budgetRepository.findWithCategoryById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + id));
 
         // Ensure user owns this budget
@@ -154,6 +170,7 @@ public class BudgetService {
         budget.setYear(request.getYear());
 
         budget = budgetRepository.save(budget);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
         return mapToResponse(budget, user.getId());
     }
 
@@ -168,51 +185,102 @@ public class BudgetService {
         }
 
         budgetRepository.delete(budget);
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
     }
 
     private BudgetResponse mapToResponse(Budget budget, Long userId) {
-        // Calculate spent amount for this budget period
-        BigDecimal spent = transactionRepository.getTotalByTypeAndMonthAndCategoryId(
-                userId,
-                Category.TransactionType.EXPENSE,
-                budget.getMonth(),
-                budget.getYear(),
-                budget.getCategory().getId());
+        return mapToResponses(List.of(budget), userId).get(0);
+    }
+
+    /**
+     * Maps budgets to responses with one grouped spent lookup for all of them,
+     * instead of one query per budget. Budgets should come with their category
+     * already fetched.
+     */
+    private List<BudgetResponse> mapToResponses(List<Budget> budgets, Long userId) {
+        if (budgets.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> categoryIds = new HashSet<>();
+        YearMonth from = null;
+        YearMonth to = null;
+        for (Budget budget : budgets) {
+            categoryIds.add(budget.getCategory().getId());
+            YearMonth period = YearMonth.of(budget.getYear(), budget.getMonth());
+            if (from == null || period.isBefore(from))
+                from = period;
+            if (to == null || period.isAfter(to))
+                to = period;
+        }
+
+        Map<SpentKey, BigDecimal> spentByKey = new HashMap<>();
+        rollupRepository.getExpenseSpentByCategoryAndPeriod(
+                userId, categoryIds,
+                from.getYear(), from.getMonthValue(),
+                to.getYear(), to.getMonthValue())
+                .forEach(row -> spentByKey.put(
+                        new SpentKey(
+                                ((Number) row.get("categoryId")).longValue(),
+                                ((Number) row.get("year")).intValue(),
+                                ((Number) row.get("month")).intValue()),
+                        (BigDecimal) row.get("total")));
+
+        return budgets.stream()
+                .map(budget -> toResponse(budget, spentByKey.get(new SpentKey(
+                        budget.getCategory().getId(), budget.getYear(), budget.getMonth()))))
+                .collect(Collectors.toList());
+    }
+
+    static BudgetResponse toResponse(Budget budget, BigDecimal spent) {
+        return applyProgress(BudgetResponse.builder()
+                .id(budget.getId())
+                .categoryId(budget.getCategory().getId())
+                .categoryName(budget.getCategory().getName())
+                .categoryColor(budget.getCategory().getColor())
+                .monthlyLimit(budget.getMonthlyLimit())
+                .spent(spent)
+                .startDate(budget.getStartDate())
+                .month(budget.getMonth())
+                .year(budget.getYear())
+                .build());
+    }
 
+    private record SpentKey(Long categoryId, int year, int month) {
+    }
+
+    /**
+     * Fills remaining, usage percentage and status from the limit and spent
+     * amount already set on the response.
+     */
+    static BudgetResponse applyProgress(BudgetResponse response) {
+        BigDecimal monthlyLimit = response.getMonthlyLimit();
+        BigDecimal spent = response.getSpent();
         if (spent == null)
             spent = BigDecimal.ZERO;
 
-        BigDecimal remaining = budget.getMonthlyLimit().subtract(spent);
+        BigDecimal remaining = monthlyLimit.subtract(spent);
 
         double usagePercentage = 0.0;
-        if (budget.getMonthlyLimit().compareTo(BigDecimal.ZERO) > 0) {
-            usagePercentage = spent.divide(budget.getMonthlyLimit(), 4, RoundingMode.HALF_UP)
+        if (monthlyLimit.compareTo(BigDecimal.ZERO) > 0) {
+            usagePercentage = spent.divide(monthlyLimit, 4, RoundingMode.HALF_UP)
                     .multiply(BigDecimal.valueOf(100))
                     .doubleValue();
         }
 
         String status;
-        if (spent.compareTo(budget.getMonthlyLimit()) > 0) {
+        if (spent.compareTo(monthlyLimit) > 0) {
             status = "OVER_BUDGET";
-        } else if (spent.compareTo(budget.getMonthlyLimit().multiply(BigDecimal.valueOf(0.8))) >= 0) {
+        } else if (spent.compareTo(monthlyLimit.multiply(BigDecimal.valueOf(0.8))) >= 0) {
             status = "WARNING";
         } else {
             status = "SAFE";
         }
 
-        return BudgetResponse.builder()
-                .id(budget.getId())
-                .categoryId(budget.getCategory().getId())
-                .categoryName(budget.getCategory().getName())
-                .categoryColor(budget.getCategory().getColor())
-                .monthlyLimit(budget.getMonthlyLimit())
-                .spent(spent)
-                .remaining(remaining)
-                .usagePercentage(usagePercentage)
-                .status(status)
-                .startDate(budget.getStartDate())
-                .month(budget.getMonth())
-                .year(budget.getYear())
-                .build();
+        response.setSpent(spent);
+        response.setRemaining(remaining);
+        response.setUsagePercentage(usagePercentage);
+        response.setStatus(status);
+        return response;
     }
 }
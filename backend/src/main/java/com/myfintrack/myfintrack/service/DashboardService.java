@@ -4,32 +4,188 @@ import com.myfintrack.myfintrack.dto.response.BudgetResponse;
 import com.myfintrack.myfintrack.dto.response.DashboardResponse;
 import com.myfintrack.myfintrack.dto.response.TransactionResponse;
 import com.myfintrack.myfintrack.entity.Category;
-import com.myfintrack.myfintrack.entity.Transaction;
 import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.DashboardQueryRepository;
+import com.myfintrack.myfintrack.repository.DashboardQueryRepository.DashboardSectionRow;
+import com.myfintrack.myfintrack.repository.TransactionMonthlyRollupRepository;
 import com.myfintrack.myfintrack.repository.TransactionRepository;
+import com.myfintrack.myfintrack.util.DateRange;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class DashboardService {
 
+        static final String MODE_SINGLE_STATEMENT = "single-statement";
+        static final String MODE_PARALLEL = "parallel";
+        static final int TREND_MONTHS = 6;
+
+        static final String SECTION_TOTALS = "totals";
+        static final String SECTION_BALANCE = "balance";
+        static final String SECTION_CATEGORIES = "categories";
+        static final String SECTION_BUDGETS = "budgets";
+        static final String SECTION_RECENT = "recent";
+        static final String SECTION_TREND = "trend";
+
+        private static final Duration DEFAULT_SECTION_TIMEOUT = Duration.ofSeconds(2);
+
         private final TransactionRepository transactionRepository;
+        private final TransactionMonthlyRollupRepository rollupRepository;
+        private final DashboardQueryRepository dashboardQueryRepository;
         private final BudgetService budgetService;
+        private final UserBalanceService userBalanceService;
+        private final PlatformTransactionManager transactionManager;
+        private final ExecutorService dashboardSectionExecutor;
+        private final Environment environment;
+        private final ResponseCacheService responseCache;
+
+        @Value("${dashboard.aggregation-mode:single-statement}")
+        private String aggregationMode;
+
+        @Value("${dashboard.recent-transactions:10}")
+        private int recentLimit;
 
         public DashboardResponse getDashboardSummary(User user, Integer month, Integer year) {
+                return responseCache.dashboard(user.getId(), month, year,
+                                () -> loadDashboardSummary(user, month, year));
+        }
+
+        private DashboardResponse loadDashboardSummary(User user, int month, int year) {
+                if (MODE_PARALLEL.equals(aggregationMode)) {
+                        // Sections run their own short reads on worker threads; the request
+                        // thread must not hold a connection while it waits for them.
+                        return getDashboardSummaryParallel(user, month, year);
+                }
+
+                TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+                readOnly.setReadOnly(true);
+                return readOnly.execute(status -> MODE_SINGLE_STATEMENT.equals(aggregationMode)
+                                ? getDashboardSummarySingleStatement(user, month, year)
+                                : getDashboardSummaryPerSection(user, month, year));
+        }
+
+        /**
+         * Builds every section from one round trip (see {@link DashboardQueryRepository}).
+         */
+        private DashboardResponse getDashboardSummarySingleStatement(User user, int month, int year) {
+                DateRange trend = trendRange(month, year);
+                List<DashboardSectionRow> rows = dashboardQueryRepository.findDashboardSections(
+                                user.getId(), DateRange.ofMonth(year, month), trend, recentLimit);
+
+                BigDecimal totalIncome = BigDecimal.ZERO;
+                BigDecimal totalExpense = BigDecimal.ZERO;
+                BigDecimal currentBalance = BigDecimal.ZERO;
+                List<Map<String, Object>> expenseData = new ArrayList<>();
+                List<BudgetResponse> budgetProgress = new ArrayList<>();
+                List<TransactionResponse> recentTransactions = new ArrayList<>();
+                List<Map<String, Object>> trendData = new ArrayList<>();
+
+                for (DashboardSectionRow row : rows) {
+                        switch (row.section()) {
+                                case DashboardQueryRepository.SECTION_TOTAL -> {
+                                        if (Category.TransactionType.INCOME.name().equals(row.type())) {
+                                                totalIncome = row.amount();
+                                        } else {
+                                                totalExpense = row.amount();
+                                        }
+                                }
+                                case DashboardQueryRepository.SECTION_BALANCE -> {
+                                        if (row.amount() != null)
+                                                currentBalance = row.amount();
+                                }
+                                case DashboardQueryRepository.SECTION_CATEGORY -> {
+                                        // HashMap: category color is nullable
+                                        Map<String, Object> data = new HashMap<>();
+                                        data.put("categoryId", row.categoryId());
+                                        data.put("categoryName", row.categoryName());
+                                        data.put("categoryColor", row.categoryColor());
+                                        data.put("total", row.amount());
+                                        data.put("count", row.itemCount());
+                                        expenseData.add(data);
+                                }
+                                case DashboardQueryRepository.SECTION_BUDGET -> budgetProgress.add(
+                                                BudgetService.applyProgress(BudgetResponse.builder()
+                                                                .id(row.itemId())
+                                                                .categoryId(row.categoryId())
+                                                                .categoryName(row.categoryName())
+                                                                .categoryColor(row.categoryColor())
+                                                                .monthlyLimit(row.amount2())
+                                                                .spent(row.amount())
+                                                                .startDate(row.itemDate())
+                                                                .month(row.periodMonth())
+                                                                .year(row.periodYear())
+                                                                .build()));
+                                case DashboardQueryRepository.SECTION_RECENT -> recentTransactions.add(
+                                                TransactionResponse.builder()
+                                                                .id(row.itemId())
+                                                                .categoryId(row.categoryId())
+                                                                .categoryName(row.categoryName())
+                                                                .categoryColor(row.categoryColor())
+                                                                .type(Category.TransactionType.valueOf(row.type()))
+                                                                .amount(row.amount())
+                                                                .description(row.description())
+                                                                .transactionDate(row.itemDate())
+                                                                .createdAt(row.createdAt())
+                                                                .updatedAt(row.updatedAt())
+                                                                .build());
+                                case DashboardQueryRepository.SECTION_TREND -> trendData.add(Map.of(
+                                                "year", row.periodYear(),
+                                                "month", row.periodMonth(),
+                                                "income", row.amount(),
+                                                "expense", row.amount2()));
+                                default -> {
+                                }
+                        }
+                }
+
+                return DashboardResponse.builder()
+                                .totalIncome(totalIncome)
+                                .totalExpense(totalExpense)
+                                .currentBalance(currentBalance)
+                                .netSavings(totalIncome.subtract(totalExpense))
+                                .expenseByCategory(buildExpenseByCategory(expenseData, totalExpense))
+                                .budgetProgress(budgetProgress)
+                                .recentTransactions(recentTransactions)
+                                .monthlyTrend(fillTrendGaps(trendData, trend.start()))
+                                .build();
+        }
+
+        /**
+         * Legacy path: one repository call per section. Kept behind
+         * {@code dashboard.aggregation-mode=per-section} for comparison.
+         */
+        private DashboardResponse getDashboardSummaryPerSection(User user, int month, int year) {
                 // Get monthly totals
-                BigDecimal totalIncome = transactionRepository.getTotalByTypeAndMonth(
+                BigDecimal totalIncome = rollupRepository.getTotalByTypeAndMonth(
                                 user.getId(), Category.TransactionType.INCOME, month, year);
-                BigDecimal totalExpense = transactionRepository.getTotalByTypeAndMonth(
+                BigDecimal totalExpense = rollupRepository.getTotalByTypeAndMonth(
                                 user.getId(), Category.TransactionType.EXPENSE, month, year);
 
                 if (totalIncome == null)
@@ -38,26 +194,156 @@ public class DashboardService {
                         totalExpense = BigDecimal.ZERO;
 
                 // Get current balance (all time)
-                BigDecimal currentBalance = transactionRepository.getCurrentBalance(user.getId());
-                if (currentBalance == null)
-                        currentBalance = BigDecimal.ZERO;
+                BigDecimal currentBalance = userBalanceService.getBalance(user.getId());
 
                 // Calculate net savings for the month
                 BigDecimal netSavings = totalIncome.subtract(totalExpense);
 
                 // Get expense by category
-                List<Map<String, Object>> expenseData = transactionRepository.getExpenseByCategory(
+                List<Map<String, Object>> expenseData = rollupRepository.getExpenseByCategory(
                                 user.getId(), month, year);
+                List<DashboardResponse.CategoryExpense> expenseByCategory = buildExpenseByCategory(
+                                expenseData, totalExpense);
+
+                // Get budget progress
+                List<BudgetResponse> budgetProgress = budgetService.getBudgets(user, month, year);
+
+                // Get recent transactions
+                List<TransactionResponse> recentTransactions = loadRecentTransactions(user.getId(), month, year);
+
+                // Get monthly trend (Last 6 months ending at selected month/year)
+                DateRange trend = trendRange(month, year);
+                List<Map<String, Object>> trendData = loadTrend(user.getId(), trend);
+
+                return DashboardResponse.builder()
+                                .totalIncome(totalIncome)
+                                .totalExpense(totalExpense)
+                                .currentBalance(currentBalance)
+                                .netSavings(netSavings)
+                                .expenseByCategory(expenseByCategory)
+                                .budgetProgress(budgetProgress)
+                                .recentTransactions(recentTransactions)
+                                .monthlyTrend(fillTrendGaps(trendData, trend.start()))
+                                .build();
+        }
+
+        /**
+         * Runs the per-section reads concurrently on {@code dashboardSectionExecutor}.
+         * Every section has a deadline ({@code dashboard.parallel.timeout.<section>},
+         * falling back to {@code dashboard.parallel.timeout.default}) measured from the
+         * start of the request. A section that misses it or fails is left empty and
+         * reported in {@code unavailableSections}, with {@code partial} set.
+         */
+        private DashboardResponse getDashboardSummaryParallel(User user, int month, int year) {
+                Long userId = user.getId();
+                DateRange trend = trendRange(month, year);
+                long startedAt = System.nanoTime();
+
+                CompletableFuture<BigDecimal[]> totalsFuture = startSection(() -> new BigDecimal[] {
+                                rollupRepository.getTotalByTypeAndMonth(
+                                                userId, Category.TransactionType.INCOME, month, year),
+                                rollupRepository.getTotalByTypeAndMonth(
+                                                userId, Category.TransactionType.EXPENSE, month, year) });
+                CompletableFuture<BigDecimal> balanceFuture = startSection(
+                                () -> userBalanceService.getBalance(userId));
+                CompletableFuture<List<Map<String, Object>>> categoriesFuture = startSection(
+                                () -> rollupRepository.getExpenseByCategory(userId, month, year));
+                CompletableFuture<List<BudgetResponse>> budgetsFuture = startSection(
+                                () -> budgetService.getBudgets(user, month, year));
+                CompletableFuture<List<TransactionResponse>> recentFuture = startSection(
+                                () -> loadRecentTransactions(userId, month, year));
+                CompletableFuture<List<Map<String, Object>>> trendFuture = startSection(
+                                () -> loadTrend(userId, trend));
 
-                BigDecimal totalExpenseForPercentage = totalExpense;
-                List<DashboardResponse.CategoryExpense> expenseByCategory = expenseData.stream()
+                List<String> unavailable = new ArrayList<>();
+                BigDecimal[] totals = awaitSection(SECTION_TOTALS, totalsFuture, startedAt,
+                                new BigDecimal[] { null, null }, unavailable);
+                BigDecimal totalIncome = totals[0] != null ? totals[0] : BigDecimal.ZERO;
+                BigDecimal totalExpense = totals[1] != null ? totals[1] : BigDecimal.ZERO;
+                BigDecimal currentBalance = awaitSection(SECTION_BALANCE, balanceFuture, startedAt,
+                                BigDecimal.ZERO, unavailable);
+                List<Map<String, Object>> expenseData = awaitSection(SECTION_CATEGORIES, categoriesFuture, startedAt,
+                                List.of(), unavailable);
+                List<BudgetResponse> budgetProgress = awaitSection(SECTION_BUDGETS, budgetsFuture, startedAt,
+                                List.of(), unavailable);
+                List<TransactionResponse> recentTransactions = awaitSection(SECTION_RECENT, recentFuture, startedAt,
+                                List.of(), unavailable);
+                List<Map<String, Object>> trendData = awaitSection(SECTION_TREND, trendFuture, startedAt,
+                                List.of(), unavailable);
+
+                return DashboardResponse.builder()
+                                .totalIncome(totalIncome)
+                                .totalExpense(totalExpense)
+                                .currentBalance(currentBalance)
+                                .netSavings(totalIncome.subtract(totalExpense))
+                                .expenseByCategory(buildExpenseByCategory(expenseData, totalExpense))
+                                .budgetProgress(budgetProgress)
+                                .recentTransactions(recentTransactions)
+                                .monthlyTrend(fillTrendGaps(trendData, trend.start()))
+                                .partial(!unavailable.isEmpty())
+                                .unavailableSections(unavailable)
+                                .build();
+        }
+
+        private <T> CompletableFuture<T> startSection(Supplier<T> loader) {
+                try {
+                        return CompletableFuture.supplyAsync(loader, dashboardSectionExecutor);
+                } catch (RejectedExecutionException e) {
+                        return CompletableFuture.failedFuture(e);
+                }
+        }
+
+        private <T> T awaitSection(String section, CompletableFuture<T> future, long startedAt,
+                        T fallback, List<String> unavailable) {
+                long remaining = sectionTimeout(section).toNanos() - (System.nanoTime() - startedAt);
+                try {
+                        T value = future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                        return value != null ? value : fallback;
+                } catch (TimeoutException e) {
+                        // The query keeps its connection until it finishes; we just stop waiting.
+                        future.cancel(true);
+                        log.warn("Dashboard section '{}' missed its deadline of {}", section, sectionTimeout(section));
+                } catch (ExecutionException e) {
+                        log.warn("Dashboard section '{}' failed", section, e.getCause());
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                }
+                unavailable.add(section);
+                return fallback;
+        }
+
+        private Duration sectionTimeout(String section) {
+                Duration fallback = environment.getProperty(
+                                "dashboard.parallel.timeout.default", Duration.class, DEFAULT_SECTION_TIMEOUT);
+                return environment.getProperty("dashboard.parallel.timeout." + section, Duration.class, fallback);
+        }
+
+        private List<TransactionResponse> loadRecentTransactions(Long userId, int month, int year) {
+                DateRange period = DateRange.ofMonth(year, month);
+                return transactionRepository.findRecentByUserIdAndDateRange(
+                                userId, period.start(), period.end(), PageRequest.of(0, recentLimit));
+        }
+
+        private List<Map<String, Object>> loadTrend(Long userId, DateRange trend) {
+                return rollupRepository.getMonthlyTrend(
+                                userId,
+                                trend.firstMonth().getYear(), trend.firstMonth().getMonthValue(),
+                                trend.lastMonth().getYear(), trend.lastMonth().getMonthValue());
+        }
+
+        static DateRange trendRange(int month, int year) {
+                return DateRange.monthsEndingAt(YearMonth.of(year, month), TREND_MONTHS);
+        }
+
+        static List<DashboardResponse.CategoryExpense> buildExpenseByCategory(
+                        List<Map<String, Object>> expenseData, BigDecimal totalExpense) {
+                return expenseData.stream()
                                 .map(data -> {
                                         BigDecimal total = (BigDecimal) data.get("total");
                                         double percentage = 0.0;
-                                        if (totalExpenseForPercentage.compareTo(BigDecimal.ZERO) > 0) {
+                                        if (totalExpense.compareTo(BigDecimal.ZERO) > 0) {
                                                 percentage = total
-                                                                .divide(totalExpenseForPercentage, 4,
-                                                                                RoundingMode.HALF_UP)
+                                                                .divide(totalExpense, 4, RoundingMode.HALF_UP)
                                                                 .multiply(BigDecimal.valueOf(100))
                                                                 .doubleValue();
                                         }
@@ -72,39 +358,10 @@ public class DashboardService {
                                                         .build();
                                 })
                                 .collect(Collectors.toList());
+        }
 
-                // Get budget progress
-                List<BudgetResponse> budgetProgress = budgetService.getBudgets(user, month, year);
-
-                // Get recent transactions (last 10)
-                List<Transaction> recentTransactionsList = transactionRepository
-                                .findByUserIdAndMonthAndYear(user.getId(), month, year)
-                                .stream()
-                                .limit(10)
-                                .collect(Collectors.toList());
-
-                List<TransactionResponse> recentTransactions = recentTransactionsList.stream()
-                                .map(t -> TransactionResponse.builder()
-                                                .id(t.getId())
-                                                .categoryId(t.getCategory().getId())
-                                                .categoryName(t.getCategory().getName())
-                                                .categoryColor(t.getCategory().getColor())
-                                                .type(t.getType())
-                                                .amount(t.getAmount())
-                                                .description(t.getDescription())
-                                                .transactionDate(t.getTransactionDate())
-                                                .createdAt(t.getCreatedAt())
-                                                .updatedAt(t.getUpdatedAt())
-                                                .build())
-                                .collect(Collectors.toList());
-
-                // Get monthly trend (Last 6 months ending at selected month/year)
-                LocalDate endDate = LocalDate.of(year, month, 1).plusMonths(1).minusDays(1);
-                LocalDate startDate = endDate.minusMonths(5).withDayOfMonth(1);
-
-                List<Map<String, Object>> trendData = transactionRepository.getMonthlyTrend(
-                                user.getId(), startDate, endDate);
-
+        static List<DashboardResponse.MonthlyTrend> fillTrendGaps(
+                        List<Map<String, Object>> trendData, LocalDate startDate) {
                 // Initialize map for quick lookup
                 Map<String, DashboardResponse.MonthlyTrend> trendMap = trendData.stream()
                                 .collect(Collectors.toMap(
@@ -120,7 +377,7 @@ public class DashboardService {
                                                                 .build()));
 
                 // Fill gaps ensuring 6 months span
-                List<DashboardResponse.MonthlyTrend> monthlyTrend = IntStream.range(0, 6)
+                return IntStream.range(0, TREND_MONTHS)
                                 .mapToObj(i -> startDate.plusMonths(i))
                                 .map(date -> {
                                         String key = date.getYear() + "-" + date.getMonthValue();
@@ -133,16 +390,5 @@ public class DashboardService {
                                                         .build());
                                 })
                                 .collect(Collectors.toList());
-
-                return DashboardResponse.builder()
-                                .totalIncome(totalIncome)
-                                .totalExpense(totalExpense)
-                                .currentBalance(currentBalance)
-                                .netSavings(netSavings)
-                                .expenseByCategory(expenseByCategory)
-                                .budgetProgress(budgetProgress)
-                                .recentTransactions(recentTransactions)
-                                .monthlyTrend(monthlyTrend)
-                                .build();
         }
 }
@@ -1,82 +1,167 @@
 package com.myfintrack.myfintrack.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.myfintrack.myfintrack.util.Digests;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Issues and validates access tokens.
+ *
+ * <p>The signing key and parser are built once. {@link #validate(String)}
+ * verifies a token a single time and remembers the result under the token's
+ * SHA-256 digest until the token expires, so repeated requests with the same
+ * token skip HMAC verification and claim parsing. Hits and misses are
+ * published as {@code cache.*} metrics tagged {@code cache=jwt-validation}.
+ */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private Long jwtExpiration;
+    /** Claim carrying the user's id, so the principal can be checked against the row it names. */
+    public static final String USER_ID_CLAIM = "uid";
+
+    private final long jwtExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Clock clock;
+    private final Cache<String, ValidatedToken> validatedTokens;
+
+    @Autowired
+    public JwtService(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration}") long jwtExpiration,
+            @Value("${jwt.validation-cache.maximum-size:10000}") long cacheMaximumSize,
+            MeterRegistry meterRegistry) {
+        this(secret, jwtExpiration, cacheMaximumSize, meterRegistry, Clock.systemUTC());
+    }
 
-    @Value("${jwt.refresh-expiration}")
-    private Long refreshExpiration;
+    JwtService(String secret, long jwtExpiration, long cacheMaximumSize, MeterRegistry meterRegistry, Clock clock) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).clock(() -> Date.from(clock.instant())).build();
+        this.clock = clock;
+        this.validatedTokens = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new UntilTokenExpiry(clock))
+                .recordStats()
+                .<String, ValidatedToken>build(), "jwt-validation");
+    }
 
     public long getExpirationTime() {
         return jwtExpiration;
     }
 
+    /**
+     * Verifies the token's signature and expiry.
+     *
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public ValidatedToken validate(String token) {
+        String digest = Digests.sha256Hex(token);
+        ValidatedToken validated = validatedTokens.getIfPresent(digest);
+        if (validated == null) {
+            validated = toValidatedToken(parser.parseSignedClaims(token).getPayload());
+            validatedTokens.put(digest, validated);
+        }
+        if (validated.isExpired(clock.instant())) {
+            // The cache entry can outlive expiry by a timer tick
+            validatedTokens.invalidate(digest);
+            throw new ExpiredJwtException(null, null, "JWT expired at " + validated.expiresAt());
+        }
+        return validated;
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return validate(token).subject();
+    }
+
+    public Long extractUserId(String token) {
+        return validate(token).userId();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parser.parseSignedClaims(token).getPayload());
+    }
+
+    /** The id claim, or null for tokens issued before it was added. */
+    public static Long userId(Claims claims) {
+        return claims.get(USER_ID_CLAIM, Long.class);
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof UserDetailsImpl details && details.getUser().getId() != null) {
+            claims.put(USER_ID_CLAIM, details.getUser().getId());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        long now = clock.millis();
         return Jwts.builder()
                 .claims(extraClaims)
                 .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + jwtExpiration))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        try {
+            return validate(token).subject().equals(userDetails.getUsername());
+        } catch (JwtException e) {
+            return false;
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static ValidatedToken toValidatedToken(Claims claims) {
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("JWT has no expiration");
+        }
+        return new ValidatedToken(claims.getSubject(), userId(claims), claims.getExpiration().toInstant());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    /** Keeps each validated token only until the token itself expires. */
+    private record UntilTokenExpiry(Clock clock) implements Expiry<String, ValidatedToken> {
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
+        @Override
+        public long expireAfterCreate(String key, ValidatedToken value, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ValidatedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        @Override
+        public long expireAfterRead(String key, ValidatedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
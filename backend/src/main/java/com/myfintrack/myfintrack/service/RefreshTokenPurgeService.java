@@ -0,0 +1,104 @@
+package com.myfintrack.myfintrack.service;
+
+import com.myfintrack.myfintrack.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes expired refresh tokens, and revoked ones once they are past the
+ * reuse-detection window, in small chunks with a pause in between. Each chunk
+ * is its own short transaction driven by the expiry_date / revoked_at
+ * indexes, so no run holds long locks or leaves a burst of dead tuples for
+ * autovacuum.
+ *
+ * <p>Metrics: {@code refresh_tokens.purged} (tagged reason=expired|revoked),
+ * {@code refresh_tokens.purge.chunk} and {@code refresh_tokens.purge.run}.
+ */
+@Service
+@Slf4j
+public class RefreshTokenPurgeService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration pause;
+    private final Duration revokedRetention;
+    private final Counter expiredPurged;
+    private final Counter revokedPurged;
+    private final Timer chunkTimer;
+    private final Timer runTimer;
+
+    public RefreshTokenPurgeService(
+            RefreshTokenRepository refreshTokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${security.refresh-tokens.purge.batch-size:1000}") int batchSize,
+            @Value("${security.refresh-tokens.purge.max-batches:500}") int maxBatches,
+            @Value("${security.refresh-tokens.purge.pause:100ms}") Duration pause,
+            @Value("${security.refresh-tokens.purge.revoked-retention:P1D}") Duration revokedRetention) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pause = pause;
+        this.revokedRetention = revokedRetention;
+        this.expiredPurged = purgedCounter(meterRegistry, "expired");
+        this.revokedPurged = purgedCounter(meterRegistry, "revoked");
+        this.chunkTimer = Timer.builder("refresh_tokens.purge.chunk").register(meterRegistry);
+        this.runTimer = Timer.builder("refresh_tokens.purge.run").register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${security.refresh-tokens.purge.initial-delay:PT1M}", fixedDelayString = "${security.refresh-tokens.purge.interval:PT15M}")
+    public void purge() {
+        Timer.Sample run = Timer.start();
+        Instant now = Instant.now();
+        long expired = purgeInChunks(() -> refreshTokenRepository.deleteExpiredChunk(now, batchSize), expiredPurged);
+        long revoked = purgeInChunks(
+                () -> refreshTokenRepository.deleteRevokedChunk(now.minus(revokedRetention), batchSize),
+                revokedPurged);
+        long nanos = run.stop(runTimer);
+
+        if (expired + revoked > 0) {
+            log.info("Refresh token purge: {} expired, {} revoked in {} ms",
+                    expired, revoked, Duration.ofNanos(nanos).toMillis());
+        }
+    }
+
+    private long purgeInChunks(IntSupplier deleteChunk, Counter purged) {
+        long total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = chunkTimer.record(deleteChunk);
+            purged.increment(deleted);
+            total += deleted;
+            if (deleted < batchSize) {
+                return total;
+            }
+            if (!pause()) {
+                return total;
+            }
+        }
+        log.warn("Refresh token purge stopped after {} batches; the rest is left for the next run", maxBatches);
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter purgedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("refresh_tokens.purged").tag("reason", reason).register(meterRegistry);
+    }
+}
@@ -1,61 +1,173 @@
 package com.myfintrack.myfintrack.service;
 
 import com.myfintrack.myfintrack.entity.RefreshToken;
+import com.myfintrack.myfintrack.exception.UnauthorizedException;
 import com.myfintrack.myfintrack.repository.RefreshTokenRepository;
 import com.myfintrack.myfintrack.repository.UserRepository;
+import com.myfintrack.myfintrack.security.RevokedRefreshTokens;
+import com.myfintrack.myfintrack.util.Digests;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.security.SecureRandom;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Issues and rotates refresh tokens. The client gets 256 random bits; the
+ * table keeps only their SHA-256, looked up through a unique index.
+ *
+ * <p>Each refresh revokes the presented token and issues a successor in the
+ * same family. A token that is presented after it was rotated means two
+ * parties hold it, so the whole family is revoked and the user has to sign in
+ * again.
+ */
 @Service
 @RequiredArgsConstructor
+@lombok.extern.slf4j.Slf4j
 public class RefreshTokenService {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     @Value("${jwt.refresh-expiration}")
     private Long refreshExpiration;
 
+    @Value("${security.refresh-tokens.max-live-per-user:10}")
+    private int maxLivePerUser;
+
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
+    private final RevokedRefreshTokens revokedTokens;
 
-    public RefreshToken createRefreshToken(Long userId) {
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(userRepository.findById(userId).orElseThrow())
-                .token(UUID.randomUUID().toString())
-                .expiryDate(Instant.now().plusMillis(refreshExpiration))
-                .revoked(false)
-                .build();
-        return refreshTokenRepository.save(refreshToken);
+    /** The raw token handed to the client; it is not recoverable from the table. */
+    public record IssuedToken(String token, Instant expiryDate) {
+    }
+
+    public record Rotation(Long userId, IssuedToken next) {
     }
 
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+    /**
+     * Start a new token family, e.g. at login. The user's oldest live tokens
+     * beyond {@code security.refresh-tokens.max-live-per-user} are deleted, so
+     * repeated logins cannot grow the table per user without bound.
+     */
+    @Transactional
+    public IssuedToken createRefreshToken(Long userId) {
+        int evicted = refreshTokenRepository.deleteOldestLive(userId, Instant.now(), maxLivePerUser - 1);
+        if (evicted > 0) {
+            log.debug("Evicted {} refresh tokens of user {} over the live-token cap", evicted, userId);
+        }
+        return issue(userId, UUID.randomUUID());
+    }
+
+    /**
+     * Owner of a stored token, without consuming it. Empty for unknown tokens
+     * and for replays already known from memory, both of which {@link #rotate}
+     * rejects.
+     */
+    public Optional<Long> findOwnerId(String token) {
+        String tokenHash = Digests.sha256Hex(token);
+        if (revokedTokens.find(tokenHash) != null) {
+            return Optional.empty();
+        }
+        return refreshTokenRepository.findUserIdByTokenHash(tokenHash);
     }
 
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-            refreshTokenRepository.delete(token);
-            throw new RuntimeException("Refresh token was expired. Please make a new signin request");
+    /**
+     * Exchange a refresh token for its successor.
+     *
+     * @throws UnauthorizedException if the token is unknown, expired, or
+     *                               already used (in which case its family is
+     *                               revoked, and that revocation commits)
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String token) {
+        String tokenHash = Digests.sha256Hex(token);
+
+        RevokedRefreshTokens.Revoked revoked = revokedTokens.find(tokenHash);
+        if (revoked != null) {
+            throw reuseDetected(revoked.familyId());
+        }
+
+        List<Object[]> consumed = refreshTokenRepository.consume(tokenHash, Instant.now());
+        if (consumed.isEmpty()) {
+            RefreshToken existing = refreshTokenRepository.findByTokenHash(tokenHash)
+                    .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+            if (existing.isRevoked()) {
+                afterCommit(() -> revokedTokens.tokenRevoked(tokenHash, existing.getFamilyId(), existing.getExpiryDate()));
+                throw reuseDetected(existing.getFamilyId());
+            }
+            throw new UnauthorizedException("Refresh token was expired. Please make a new signin request");
         }
-        return token;
+
+        Object[] row = consumed.get(0);
+        Long userId = ((Number) row[0]).longValue();
+        UUID familyId = row[1] != null ? (UUID) row[1] : UUID.randomUUID();
+        Instant expiryDate = toInstant(row[2]);
+
+        afterCommit(() -> revokedTokens.tokenRevoked(tokenHash, familyId, expiryDate));
+        return new Rotation(userId, issue(userId, familyId));
     }
 
     @Transactional
     public void revokeRefreshToken(String token) {
-        refreshTokenRepository.findByToken(token).ifPresent(t -> {
+        String tokenHash = Digests.sha256Hex(token);
+        refreshTokenRepository.findByTokenHash(tokenHash).ifPresent(t -> {
             t.setRevoked(true);
+            t.setRevokedAt(Instant.now());
             refreshTokenRepository.save(t);
+            afterCommit(() -> revokedTokens.tokenRevoked(tokenHash, t.getFamilyId(), t.getExpiryDate()));
         });
     }
 
     @Transactional
     public void revokeAllUserTokens(Long userId) {
-        userRepository.findById(userId).ifPresent(user -> {
-            refreshTokenRepository.deleteByUser(user);
+        refreshTokenRepository.deleteByUser(userRepository.getReferenceById(userId));
+    }
+
+    private IssuedToken issue(Long userId, UUID familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = RefreshToken.builder()
+                .user(userRepository.getReferenceById(userId))
+                .tokenHash(Digests.sha256Hex(token))
+                .familyId(familyId)
+                .expiryDate(Instant.now().plusMillis(refreshExpiration))
+                .revoked(false)
+                .build();
+        refreshTokenRepository.save(refreshToken);
+        return new IssuedToken(token, refreshToken.getExpiryDate());
+    }
+
+    private UnauthorizedException reuseDetected(UUID familyId) {
+        if (familyId != null && !revokedTokens.isFamilyRevoked(familyId)) {
+            int revoked = refreshTokenRepository.revokeFamily(familyId, Instant.now());
+            log.warn("Refresh token reuse detected; revoked {} tokens in family {}", revoked, familyId);
+            afterCommit(() -> revokedTokens.familyRevoked(familyId));
+        }
+        return new UnauthorizedException("Refresh token has already been used. Please sign in again");
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
         });
     }
+
+    private static Instant toInstant(Object value) {
+        return value instanceof Instant instant ? instant : ((Timestamp) value).toInstant();
+    }
 }
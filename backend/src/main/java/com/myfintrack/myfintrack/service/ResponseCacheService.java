@@ -0,0 +1,90 @@
+package com.myfintrack.myfintrack.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myfintrack.myfintrack.dto.response.BudgetSummaryResponse;
+import com.myfintrack.myfintrack.dto.response.DashboardResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of the per-month dashboard and envelope summary responses.
+ *
+ * <p>Entries are keyed by (userId, data version, month, year). Any committed
+ * change to the user's transactions or budgets moves the data version on (see
+ * {@link UserDataVersionService}), so backdated edits and all-time figures
+ * such as the current balance never come back stale. Superseded entries are
+ * no longer read and age out through size-bounded W-TinyLFU eviction and TTL.
+ *
+ * <p>Hit, miss and eviction counts are published as {@code cache.*} metrics
+ * tagged {@code cache=dashboard} and {@code cache=budget-summary}.
+ */
+@Service
+public class ResponseCacheService {
+
+    private final UserDataVersionService versionService;
+    private final boolean enabled;
+    private final Cache<CacheKey, DashboardResponse> dashboards;
+    private final Cache<CacheKey, BudgetSummaryResponse> budgetSummaries;
+
+    public ResponseCacheService(
+            UserDataVersionService versionService,
+            MeterRegistry meterRegistry,
+            @Value("${cache.responses.enabled:true}") boolean enabled,
+            @Value("${cache.responses.maximum-size:10000}") long maximumSize,
+            @Value("${cache.responses.ttl:PT5M}") Duration ttl) {
+        this.versionService = versionService;
+        this.enabled = enabled;
+        this.dashboards = CaffeineCacheMetrics.monitor(meterRegistry, newCache(maximumSize, ttl), "dashboard");
+        this.budgetSummaries = CaffeineCacheMetrics.monitor(
+                meterRegistry, newCache(maximumSize, ttl), "budget-summary");
+    }
+
+    public DashboardResponse dashboard(Long userId, int month, int year, Supplier<DashboardResponse> loader) {
+        // Partial responses are served but never kept
+        return get(dashboards, userId, month, year, loader, response -> !response.isPartial());
+    }
+
+    public BudgetSummaryResponse budgetSummary(
+            Long userId, int month, int year, Supplier<BudgetSummaryResponse> loader) {
+        return get(budgetSummaries, userId, month, year, loader, response -> true);
+    }
+
+    private <T> T get(Cache<CacheKey, T> cache, Long userId, int month, int year,
+            Supplier<T> loader, Predicate<T> cacheable) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        // Read the version before loading: if a write commits meanwhile, the
+        // result lands under the old version and is never served again.
+        CacheKey key = new CacheKey(userId, versionService.currentVersion(userId), month, year);
+        T cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        T response = loader.get();
+        if (cacheable.test(response)) {
+            cache.put(key, response);
+        }
+        return response;
+    }
+
+    private static <T> Cache<CacheKey, T> newCache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    private record CacheKey(Long userId, long version, int month, int year) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.myfintrack.myfintrack.service;
+
+import com.myfintrack.myfintrack.dto.request.BulkTransactionRequest;
+import com.myfintrack.myfintrack.dto.request.TransactionFilter;
+import com.myfintrack.myfintrack.dto.response.BulkTransactionResponse;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.event.UserDataChangedEvent;
+import com.myfintrack.myfintrack.exception.BadRequestException;
+import com.myfintrack.myfintrack.repository.TransactionBulkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Delete, restore, recategorize and purge many transactions at once, by id
+ * list or by the listing filters. Work goes in chunks of
+ * {@code transactions.bulk.chunk-size} rows, each one statement in its own
+ * short transaction (see TransactionBulkRepository), so a large selection
+ * never holds its row locks for long. A failure stops the run; chunks before
+ * it stay applied, and repeating the request finishes the job since rows
+ * already done no longer match.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionBulkService {
+
+    private final TransactionBulkRepository transactionBulkRepository;
+    private final CategoryService categoryService;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${transactions.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    public BulkTransactionResponse delete(User user, BulkTransactionRequest request) {
+        return run("delete", user, request, (target, limit) -> transactionBulkRepository.softDelete(
+                user.getId(), target, limit, LocalDateTime.now()));
+    }
+
+    public BulkTransactionResponse restore(User user, BulkTransactionRequest request) {
+        return run("restore", user, request, (target, limit) -> transactionBulkRepository.restore(
+                user.getId(), target, limit, LocalDateTime.now()));
+    }
+
+    public BulkTransactionResponse recategorize(User user, BulkTransactionRequest request) {
+        if (request.getCategoryId() == null) {
+            throw new BadRequestException("categoryId is required");
+        }
+        Category category = categoryService.findById(request.getCategoryId());
+        return run("recategorize", user, request, (target, limit) -> transactionBulkRepository.recategorize(
+                user.getId(), target, limit, category, LocalDateTime.now()));
+    }
+
+    public BulkTransactionResponse purge(User user, BulkTransactionRequest request) {
+        return run("purge", user, request, (target, limit) -> transactionBulkRepository.purge(
+                user.getId(), target, limit));
+    }
+
+    private BulkTransactionResponse run(String name, User user, BulkTransactionRequest request, Operation operation) {
+        validate(request);
+        long start = System.nanoTime();
+        long affected = 0;
+        if (request.getIds() != null) {
+            List<Long> ids = request.getIds().stream().filter(Objects::nonNull).distinct().toList();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                affected += inTransaction(user, operation, TransactionBulkRepository.Target.ids(
+                        ids.subList(from, Math.min(from + chunkSize, ids.size())))).changed();
+            }
+        } else {
+            TransactionBulkRepository.Target target = TransactionBulkRepository.Target.filter(request.getFilter());
+            TransactionBulkRepository.Chunk done;
+            do {
+                done = inTransaction(user, operation, target);
+                affected += done.changed();
+                target = target.after(done.lastId());
+            } while (done.changed() == chunkSize);
+        }
+        log.info("Bulk {} changed {} transactions for user {} in {} ms",
+                name, affected, user.getId(), (System.nanoTime() - start) / 1_000_000);
+        return BulkTransactionResponse.builder().affected(affected).build();
+    }
+
+    private TransactionBulkRepository.Chunk inTransaction(
+            User user, Operation operation, TransactionBulkRepository.Target target) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            TransactionBulkRepository.Chunk done = operation.apply(target, chunkSize);
+            if (done.changed() > 0) {
+                eventPublisher.publishEvent(new UserDataChangedEvent(user.getId()));
+            }
+            return done;
+        });
+    }
+
+    /** Exactly one of ids or filter; a filter must narrow something, so an empty one cannot hit every row. */
+    private static void validate(BulkTransactionRequest request) {
+        if ((request.getIds() == null) == (request.getFilter() == null)) {
+            throw new BadRequestException("Give either ids or filter");
+        }
+        if (request.getIds() != null) {
+            if (request.getIds().isEmpty()) {
+                throw new BadRequestException("ids must not be empty");
+            }
+            return;
+        }
+        TransactionFilter filter = request.getFilter();
+        TransactionService.validate(filter);
+        boolean narrowed = filter.getType() != null
+                || (filter.getCategoryId() != null && !filter.getCategoryId().isEmpty())
+                || filter.getStartDate() != null || filter.getEndDate() != null
+                || filter.getMinAmount() != null || filter.getMaxAmount() != null
+                || (filter.getDescription() != null && !filter.getDescription().isBlank());
+        if (!narrowed) {
+            throw new BadRequestException("filter must set at least one field");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        TransactionBulkRepository.Chunk apply(TransactionBulkRepository.Target target, int limit);
+    }
+}
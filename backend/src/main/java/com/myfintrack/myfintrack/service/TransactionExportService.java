@@ -0,0 +1,195 @@
+package com.myfintrack.myfintrack.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.myfintrack.myfintrack.dto.request.TransactionFilter;
+import com.myfintrack.myfintrack.dto.response.TransactionResponse;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.exception.BadRequestException;
+import com.myfintrack.myfintrack.repository.TransactionQueryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Writes a user's transactions out as CSV or NDJSON. Rows go from a database
+ * cursor through a small buffer straight to the response, so an export of any
+ * size takes the memory of a few hundred rows and runs one query, no COUNT.
+ *
+ * <p>The export holds a pooled connection until the client has read the last
+ * byte; a slow reader on a large export keeps it that long.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportService {
+
+    private static final int BUFFER_CHARS = 16 * 1024;
+
+    private final TransactionQueryRepository transactionQueryRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${transactions.export.fetch-size:500}")
+    private int fetchSize;
+
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON(MediaType.APPLICATION_NDJSON);
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new BadRequestException("Unsupported export format: " + name + " (use csv or ndjson)");
+        }
+    }
+
+    /** Same rules as the listing filters; call before the response is committed. */
+    public void validate(TransactionFilter filter) {
+        TransactionService.validate(filter);
+    }
+
+    public void export(User user, TransactionFilter filter, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_CHARS);
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer, objectMapper);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        long start = System.nanoTime();
+        Long count;
+        try {
+            count = readOnly.execute(status -> transactionQueryRepository.forEach(user.getId(), filter, fetchSize, rows));
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the cursor is closed and the transaction rolled back
+            throw e.getCause();
+        }
+        rows.finish();
+        writer.flush();
+        log.debug("Exported {} transactions as {} for user {} in {} ms",
+                count, format, user.getId(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private interface RowWriter extends Consumer<TransactionResponse> {
+
+        @Override
+        default void accept(TransactionResponse row) {
+            try {
+                write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void write(TransactionResponse row) throws IOException;
+
+        default void finish() throws IOException {
+        }
+    }
+
+    /** RFC 4180: header line, CRLF line ends, fields quoted only when needed. */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write("id,transactionDate,type,categoryId,categoryName,amount,description\r\n");
+        }
+
+        @Override
+        public void write(TransactionResponse row) throws IOException {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(row.getTransactionDate().toString());
+            writer.write(',');
+            writer.write(row.getType().name());
+            writer.write(',');
+            writer.write(String.valueOf(row.getCategoryId()));
+            writer.write(',');
+            writeField(row.getCategoryName());
+            writer.write(',');
+            writer.write(row.getAmount().toPlainString());
+            writer.write(',');
+            writeField(row.getDescription());
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    /** One TransactionResponse JSON object per line, as the listings serialize it. */
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private final SequenceWriter sequence;
+        private boolean empty = true;
+
+        NdjsonRowWriter(Writer writer, ObjectMapper objectMapper) throws IOException {
+            this.writer = writer;
+            // Flushing per row would send one chunk per transaction; the buffer decides instead
+            this.sequence = objectMapper.writerFor(TransactionResponse.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(writer);
+        }
+
+        @Override
+        public void write(TransactionResponse row) throws IOException {
+            sequence.write(row);
+            empty = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            sequence.close();
+            if (!empty) {
+                writer.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.myfintrack.myfintrack.service;
+
+import com.myfintrack.myfintrack.dto.response.TransactionImportReport;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.event.UserDataChangedEvent;
+import com.myfintrack.myfintrack.exception.BadRequestException;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.repository.TransactionImportRepository;
+import com.myfintrack.myfintrack.util.CsvRecordReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk CSV import of a user's transactions, e.g. an export from this app or a
+ * bank statement whose columns are named like the export's. The file is parsed
+ * as it is read and every row is checked the way a single create would be;
+ * valid rows are written in chunks, each chunk in its own transaction together
+ * with its rollup and balance deltas, so a failure costs one chunk rather than
+ * the whole file. Rows that fail are listed by line in the report.
+ *
+ * <p>Recognised columns, case-insensitive, in any order: transactionDate (or
+ * date), amount, categoryId or categoryName (or category), and optionally type
+ * and description. Others, such as the export's id, are ignored.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionImportService {
+
+    private static final int MAX_DESCRIPTION = 1000;
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("9999999999999.99");
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionImportRepository transactionImportRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${transactions.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${transactions.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    /**
+     * @param dateFormat pattern for the date column, e.g. {@code dd/MM/yyyy};
+     *                   null for ISO {@code yyyy-MM-dd}
+     * @throws BadRequestException when the header is unusable; nothing is imported then
+     */
+    public TransactionImportReport importCsv(User user, InputStream in, String dateFormat) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Columns columns = Columns.of(reader.next());
+        RowParser parser = new RowParser(columns, categories(), dateFormatter(dateFormat), LocalDate.now());
+        Import run = new Import(user.getId());
+
+        long start = System.nanoTime();
+        List<String> fields;
+        while ((fields = nextRecord(reader, run)) != null) {
+            long line = reader.recordLine();
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                run.add(line, parser.parse(fields));
+            } catch (RowRejected e) {
+                run.reject(line, e.getMessage());
+            }
+            if (run.chunk.size() >= chunkSize) {
+                run.flush();
+            }
+        }
+        run.flush();
+
+        log.info("Imported {} transactions for user {} ({} failed) in {} ms",
+                run.imported, user.getId(), run.failed, (System.nanoTime() - start) / 1_000_000);
+        return TransactionImportReport.builder()
+                .imported(run.imported)
+                .failed(run.failed)
+                .errors(run.errors)
+                .errorsTruncated(run.errorsTruncated)
+                .build();
+    }
+
+    /** A broken quote swallows the rest of the file; what came before it is still imported. */
+    private static List<String> nextRecord(CsvRecordReader reader, Import run) throws IOException {
+        try {
+            return reader.next();
+        } catch (EOFException e) {
+            run.reject(reader.recordLine(), e.getMessage());
+            return null;
+        }
+    }
+
+    /** One read of the category table per import rather than a lookup per row. */
+    private Categories categories() {
+        Map<Long, Category> byId = new HashMap<>();
+        Map<String, List<Category>> byName = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            byId.put(category.getId(), category);
+            byName.computeIfAbsent(category.getName().toLowerCase(Locale.ROOT), name -> new ArrayList<>()).add(category);
+        }
+        return new Categories(byId, byName);
+    }
+
+    private static DateTimeFormatter dateFormatter(String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            return DateTimeFormatter.ISO_LOCAL_DATE;
+        }
+        try {
+            return DateTimeFormatter.ofPattern(pattern, Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid date format: " + pattern);
+        }
+    }
+
+    /** Rows parsed so far and the chunk waiting to be written. */
+    private final class Import {
+
+        private final Long userId;
+        private final List<TransactionImportRepository.Row> chunk = new ArrayList<>(chunkSize);
+        private final List<TransactionImportReport.RowError> errors = new ArrayList<>();
+        private long firstLine;
+        private long lastLine;
+        private long imported;
+        private long failed;
+        private boolean errorsTruncated;
+
+        Import(Long userId) {
+            this.userId = userId;
+        }
+
+        void add(long line, TransactionImportRepository.Row row) {
+            if (chunk.isEmpty()) {
+                firstLine = line;
+            }
+            lastLine = line;
+            chunk.add(row);
+        }
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new TransactionImportReport.RowError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> write(chunk));
+                imported += chunk.size();
+            } catch (RuntimeException e) {
+                log.warn("Import chunk of lines {}-{} for user {} rolled back", firstLine, lastLine, userId, e);
+                failed += chunk.size() - 1;
+                reject(firstLine, "Lines " + firstLine + "-" + lastLine + " not imported: "
+                        + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+            chunk.clear();
+        }
+
+        private void write(List<TransactionImportRepository.Row> rows) {
+            transactionImportRepository.stage(rows);
+            transactionImportRepository.insertStaged(userId, LocalDateTime.now());
+            transactionImportRepository.addStagedToRollup(userId);
+            transactionImportRepository.addStagedToBalance(userId);
+            eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+        }
+    }
+
+    private record Categories(Map<Long, Category> byId, Map<String, List<Category>> byName) {
+    }
+
+    /** Header positions; -1 for a column the file does not have. */
+    private record Columns(int date, int amount, int categoryId, int categoryName, int type, int description) {
+
+        static Columns of(List<String> header) {
+            if (header == null) {
+                throw new BadRequestException("The file is empty");
+            }
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                positions.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            Columns columns = new Columns(
+                    first(positions, "transactiondate", "date"),
+                    first(positions, "amount"),
+                    first(positions, "categoryid"),
+                    first(positions, "categoryname", "category"),
+                    first(positions, "type"),
+                    first(positions, "description"));
+            if (columns.date < 0 || columns.amount < 0 || (columns.categoryId < 0 && columns.categoryName < 0)) {
+                throw new BadRequestException(
+                        "The header must name transactionDate, amount and categoryId or categoryName columns");
+            }
+            return columns;
+        }
+
+        private static int first(Map<String, Integer> positions, String... names) {
+            for (String name : names) {
+                Integer position = positions.get(name);
+                if (position != null) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /** The checks TransactionRequest validation and createTransaction apply to a single row. */
+    private record RowParser(Columns columns, Categories categories, DateTimeFormatter dates, LocalDate today) {
+
+        TransactionImportRepository.Row parse(List<String> fields) throws RowRejected {
+            Category.TransactionType type = type(field(fields, columns.type));
+            Category category = category(field(fields, columns.categoryId), field(fields, columns.categoryName), type);
+            if (type != null && type != category.getType()) {
+                throw new RowRejected("Type " + type + " does not match category " + category.getName()
+                        + " (" + category.getType() + ")");
+            }
+            // Kept as written, surrounding spaces included, so an export imports back unchanged
+            String description = columns.description < 0 || columns.description >= fields.size()
+                    || fields.get(columns.description).isBlank() ? null : fields.get(columns.description);
+            if (description != null && description.length() > MAX_DESCRIPTION) {
+                throw new RowRejected("Description must not exceed " + MAX_DESCRIPTION + " characters");
+            }
+            if (description != null && description.indexOf('\0') >= 0) {
+                throw new RowRejected("Description contains a NUL character");
+            }
+            return new TransactionImportRepository.Row(category.getId(), category.getType(),
+                    amount(field(fields, columns.amount)), description, date(field(fields, columns.date)));
+        }
+
+        private Category category(String id, String name, Category.TransactionType type) throws RowRejected {
+            if (id != null) {
+                try {
+                    Category category = categories.byId().get(Long.valueOf(id));
+                    if (category != null) {
+                        return category;
+                    }
+                } catch (NumberFormatException e) {
+                    // reported below
+                }
+                throw new RowRejected("Category not found with id: " + id);
+            }
+            if (name == null) {
+                throw new RowRejected("Category is required");
+            }
+            List<Category> candidates = categories.byName().getOrDefault(name.toLowerCase(Locale.ROOT), List.of())
+                    .stream()
+                    .filter(category -> type == null || category.getType() == type)
+                    .toList();
+            if (candidates.isEmpty()) {
+                throw new RowRejected("Category not found: " + name);
+            }
+            if (candidates.size() > 1) {
+                throw new RowRejected("Category " + name + " exists for both INCOME and EXPENSE; add a type column");
+            }
+            return candidates.get(0);
+        }
+
+        private static Category.TransactionType type(String value) throws RowRejected {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Category.TransactionType.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RowRejected("Invalid type: " + value);
+            }
+        }
+
+        private static BigDecimal amount(String value) throws RowRejected {
+            if (value == null) {
+                throw new RowRejected("Amount is required");
+            }
+            BigDecimal amount;
+            try {
+                amount = new BigDecimal(value);
+            } catch (NumberFormatException e) {
+                throw new RowRejected("Invalid amount: " + value);
+            }
+            if (amount.signum() <= 0) {
+                throw new RowRejected("Amount must be greater than 0");
+            }
+            if (amount.scale() > 2 || amount.compareTo(MAX_AMOUNT) > 0) {
+                throw new RowRejected("Amount must have max 13 digits and 2 decimal places");
+            }
+            return amount;
+        }
+
+        private LocalDate date(String value) throws RowRejected {
+            if (value == null) {
+                throw new RowRejected("Transaction date is required");
+            }
+            LocalDate date;
+            try {
+                date = LocalDate.parse(value, dates);
+            } catch (DateTimeParseException e) {
+                throw new RowRejected("Invalid transaction date: " + value);
+            }
+            if (date.isAfter(today)) {
+                throw new RowRejected("Transaction date cannot be in the future");
+            }
+            return date;
+        }
+
+        /** Trimmed value, null when the column is absent or the field is blank. */
+        private static String field(List<String> fields, int column) {
+            if (column < 0 || column >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(column).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    private static final class RowRejected extends Exception {
+
+        RowRejected(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
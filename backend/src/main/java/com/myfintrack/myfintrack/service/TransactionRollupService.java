@@ -0,0 +1,95 @@
+package com.myfintrack.myfintrack.service;
+
+import com.myfintrack.myfintrack.entity.Transaction;
+import com.myfintrack.myfintrack.repository.TransactionMonthlyRollupRepository;
+import com.myfintrack.myfintrack.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Keeps transaction_monthly_rollup in step with the transactions table.
+ * Callers apply a +1 / -1 sign for every live row that appears or disappears,
+ * inside the same database transaction as the row change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionRollupService {
+
+    private final TransactionMonthlyRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Transaction transaction, int sign) {
+        rollupRepository.applyDelta(
+                transaction.getUser().getId(),
+                transaction.getCategory().getId(),
+                transaction.getType().name(),
+                transaction.getTransactionDate().getYear(),
+                transaction.getTransactionDate().getMonthValue(),
+                transaction.getAmount().multiply(BigDecimal.valueOf(sign)),
+                sign);
+    }
+
+    /**
+     * Recompute every bucket from raw transactions.
+     *
+     * @return number of buckets written
+     */
+    @Transactional
+    public int rebuild() {
+        rollupRepository.lockForRebuild();
+        int deleted = rollupRepository.deleteAllRollups();
+        int inserted = rollupRepository.insertFromTransactions();
+        log.info("Rollup rebuild replaced {} buckets with {} recomputed buckets", deleted, inserted);
+        return inserted;
+    }
+
+    /**
+     * Compare stored buckets against a full recomputation without changing anything.
+     */
+    @Transactional(readOnly = true)
+    public List<RollupDrift> verify() {
+        return rollupRepository.findDrift().stream()
+                .map(row -> new RollupDrift(
+                        ((Number) row[0]).longValue(),
+                        ((Number) row[1]).longValue(),
+                        (String) row[2],
+                        ((Number) row[3]).intValue(),
+                        ((Number) row[4]).intValue(),
+                        (BigDecimal) row[5],
+                        (BigDecimal) row[6],
+                        ((Number) row[7]).longValue(),
+                        ((Number) row[8]).longValue()))
+                .toList();
+    }
+
+    /**
+     * Seed the rollup on first start against an existing database.
+     */
+    @Transactional
+    public void bootstrapIfEmpty() {
+        if (rollupRepository.count() == 0 && transactionRepository.count() > 0) {
+            log.info("🌱 Rollup table is empty, building it from existing transactions...");
+            rebuild();
+        }
+    }
+
+    public record RollupDrift(
+            Long userId,
+            Long categoryId,
+            String type,
+            int year,
+            int month,
+            BigDecimal expectedTotal,
+            BigDecimal actualTotal,
+            long expectedCount,
+            long actualCount) {
+    }
+}
@@ -1,14 +1,21 @@
 package com.myfintrack.myfintrack.service;
 
+import com.myfintrack.myfintrack.dto.request.TransactionFilter;
 import com.myfintrack.myfintrack.dto.request.TransactionRequest;
+import com.myfintrack.myfintrack.dto.response.CursorPage;
 import com.myfintrack.myfintrack.dto.response.TransactionResponse;
 import com.myfintrack.myfintrack.entity.Category;
 import com.myfintrack.myfintrack.entity.Transaction;
 import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.event.UserDataChangedEvent;
 import com.myfintrack.myfintrack.exception.BadRequestException;
 import com.myfintrack.myfintrack.exception.ResourceNotFoundException;
+import com.myfintrack.myfintrack.repository.TransactionQueryRepository;
 import com.myfintrack.myfintrack.repository.TransactionRepository;
+import com.myfintrack.myfintrack.util.SearchCursor;
+import com.myfintrack.myfintrack.util.TransactionCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,13 +23,20 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
 
+    private static final int MAX_SEARCH_LENGTH = 200;
+
     private final TransactionRepository transactionRepository;
+    private final TransactionQueryRepository transactionQueryRepository;
     private final CategoryService categoryService;
+    private final TransactionRollupService rollupService;
+    private final UserBalanceService userBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public TransactionResponse createTransaction(User user, TransactionRequest request) {
@@ -47,41 +61,94 @@ public class TransactionService {
                 .build();
 
         transaction = transactionRepository.save(transaction);
+        applyToAggregates(transaction, 1);
         return mapToResponse(transaction);
     }
 
-    public Page<TransactionResponse> getTransactions(
-            User user,
-            Category.TransactionType type,
-            Long categoryId,
-            LocalDate startDate,
-            LocalDate endDate,
-            Pageable pageable) {
-        Page<Transaction> transactions;
-
-        if (startDate != null && endDate != null) {
-            if (type != null) {
-                transactions = transactionRepository
-                        .findByUserIdAndTypeAndTransactionDateBetweenOrderByTransactionDateDesc(
-                                user.getId(), type, startDate, endDate, pageable);
-            } else {
-                transactions = transactionRepository.findByUserIdAndTransactionDateBetweenOrderByTransactionDateDesc(
-                        user.getId(), startDate, endDate, pageable);
-            }
-        } else if (type != null) {
-            transactions = transactionRepository.findByUserIdAndTypeOrderByTransactionDateDesc(
-                    user.getId(), type, pageable);
-        } else if (categoryId != null) {
-            transactions = transactionRepository.findByUserIdAndCategoryIdOrderByTransactionDateDesc(
-                    user.getId(), categoryId, pageable);
-        } else {
-            transactions = transactionRepository.findByUserIdOrderByTransactionDateDesc(
-                    user.getId(), pageable);
+    @Transactional(readOnly = true)
+    public Page<TransactionResponse> getTransactions(User user, TransactionFilter filter, Pageable pageable) {
+        validate(filter);
+        return transactionQueryRepository.findPage(user.getId(), filter, pageable);
+    }
+
+    /**
+     * Keyset page of the user's transactions, newest first. One extra row is
+     * read to tell whether another page follows, so no count query is needed.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionResponse> getTransactionsAfter(
+            User user, TransactionFilter filter, String cursor, int size) {
+        validate(filter);
+        List<TransactionResponse> rows = transactionQueryRepository.findPage(
+                user.getId(), filter, TransactionCursor.decode(cursor), size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<TransactionResponse> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionResponse last = content.get(content.size() - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDate(), last.getId()).encode();
         }
+        return CursorPage.<TransactionResponse>builder()
+                .content(content)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
 
-        return transactions.map(this::mapToResponse);
+    /**
+     * Ranked description search, keyset-paginated on (score, id). Typo
+     * tolerance only kicks in when nothing matches exactly; the cursor
+     * remembers which of the two searches later pages continue. Like the
+     * cursor listing, one extra row tells whether another page follows.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionResponse> searchTransactions(User user, String text, String cursor, int size) {
+        String query = text == null ? "" : text.strip();
+        if (query.isEmpty()) {
+            throw new BadRequestException("Search text is required");
+        }
+        if (query.length() > MAX_SEARCH_LENGTH) {
+            throw new BadRequestException("Search text must not exceed " + MAX_SEARCH_LENGTH + " characters");
+        }
+
+        SearchCursor after = SearchCursor.decode(cursor);
+        boolean fuzzy = after != null && after.fuzzy();
+        List<TransactionQueryRepository.SearchHit> hits = transactionQueryRepository.search(
+                user.getId(), query, fuzzy, after, size + 1);
+        if (hits.isEmpty() && after == null) {
+            fuzzy = true;
+            hits = transactionQueryRepository.search(user.getId(), query, true, null, size + 1);
+        }
+
+        boolean hasNext = hits.size() > size;
+        List<TransactionQueryRepository.SearchHit> page = hasNext ? hits.subList(0, size) : hits;
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionQueryRepository.SearchHit last = page.get(page.size() - 1);
+            nextCursor = new SearchCursor(last.score(), last.transaction().getId(), fuzzy).encode();
+        }
+        return CursorPage.<TransactionResponse>builder()
+                .content(page.stream().map(TransactionQueryRepository.SearchHit::transaction).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    static void validate(TransactionFilter filter) {
+        if (filter.getStartDate() != null && filter.getEndDate() != null
+                && filter.getStartDate().isAfter(filter.getEndDate())) {
+            throw new BadRequestException("startDate must not be after endDate");
+        }
+        if (filter.getMinAmount() != null && filter.getMaxAmount() != null
+                && filter.getMinAmount().compareTo(filter.getMaxAmount()) > 0) {
+            throw new BadRequestException("minAmount must not be greater than maxAmount");
+        }
     }
 
+    @Transactional(readOnly = true)
     public TransactionResponse getTransactionById(User user, Long id) {
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
@@ -95,7 +162,7 @@ public class TransactionService {
 
     @Transactional
     public TransactionResponse updateTransaction(User user, Long id, TransactionRequest request) {
-        Transaction transaction = transactionRepository.findById(id)
+        Transaction transaction = transactionRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
 
         if (!transaction.getUser().getId().equals(user.getId())) {
@@ -113,6 +180,9 @@ public class TransactionService {
             }
         }
 
+        // Take the old values out of the aggregates before the row changes
+        applyToAggregates(transaction, -1);
+
         transaction.setCategory(category);
         transaction.setType(transactionType);
         transaction.setAmount(request.getAmount());
@@ -120,12 +190,14 @@ public class TransactionService {
         transaction.setTransactionDate(request.getTransactionDate());
 
         transaction = transactionRepository.save(transaction);
+        applyToAggregates(transaction, 1);
         return mapToResponse(transaction);
     }
 
     @Transactional
     public void deleteTransaction(User user, Long id) {
-        Transaction transaction = transactionRepository.findById(id)
+        // Locked, so a concurrent delete waits and then no longer finds a live row
+        Transaction transaction = transactionRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
 
         // Ensure user owns this transaction
@@ -136,24 +208,30 @@ public class TransactionService {
         // Soft delete: set deletedAt timestamp instead of removing from DB
         transaction.setDeletedAt(LocalDateTime.now());
         transactionRepository.save(transaction);
+        applyToAggregates(transaction, -1);
     }
 
     @Transactional
     public void deleteTransactionPermanently(User user, Long id) {
-        Transaction transaction = transactionRepository.findByIdIncludeDeleted(id)
+        Transaction transaction = transactionRepository.findByIdIncludeDeletedForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
 
         if (!transaction.getUser().getId().equals(user.getId())) {
             throw new BadRequestException("You don't have permission to delete this transaction");
         }
 
+        // Soft-deleted rows already left the aggregates
+        if (transaction.getDeletedAt() == null) {
+            applyToAggregates(transaction, -1);
+        }
         transactionRepository.delete(transaction);
     }
 
     @Transactional
     public TransactionResponse restoreTransaction(User user, Long id) {
-        // Use native query to find including soft-deleted records
-        Transaction transaction = transactionRepository.findByIdIncludeDeleted(id)
+        // Use native query to find including soft-deleted records, locked so a
+        // concurrent restore sees this one's result before checking deletedAt
+        Transaction transaction = transactionRepository.findByIdIncludeDeletedForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
 
         if (!transaction.getUser().getId().equals(user.getId())) {
@@ -166,15 +244,26 @@ public class TransactionService {
 
         transaction.setDeletedAt(null);
         transaction = transactionRepository.save(transaction);
+        applyToAggregates(transaction, 1);
         return mapToResponse(transaction);
     }
 
+    @Transactional(readOnly = true)
     public Page<TransactionResponse> getDeletedTransactions(User user, Pageable pageable) {
-        return transactionRepository.findDeletedByUserId(user.getId(), pageable)
-                .map(this::mapToResponse);
+        return transactionQueryRepository.findDeleted(user.getId(), pageable);
+    }
+
+    /**
+     * Keep the monthly rollup and balance snapshot in step with a live row
+     * appearing (+1) or disappearing (-1), and let cached responses know.
+     */
+    private void applyToAggregates(Transaction transaction, int sign) {
+        rollupService.apply(transaction, sign);
+        userBalanceService.apply(transaction, sign);
+        eventPublisher.publishEvent(new UserDataChangedEvent(transaction.getUser().getId()));
     }
 
-    private TransactionResponse mapToResponse(Transaction transaction) {
+    static TransactionResponse mapToResponse(Transaction transaction) {
         return TransactionResponse.builder()
                 .id(transaction.getId())
                 .categoryId(transaction.getCategory().getId())
@@ -0,0 +1,86 @@
+package com.myfintrack.myfintrack.service;
+
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.Transaction;
+import com.myfintrack.myfintrack.event.UserDataChangedEvent;
+import com.myfintrack.myfintrack.repository.UserBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * O(1) current balance. TransactionService applies a signed delta for every
+ * live row that appears or disappears. The table is seeded on first start
+ * against an existing database (see RollupMaintenanceRunner); a scheduled job
+ * compares the snapshot against a full scan and repairs drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserBalanceService {
+
+    private final UserBalanceRepository userBalanceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${balance.reconcile.repair:true}")
+    private boolean repairDrift;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Transaction transaction, int sign) {
+        BigDecimal delta = transaction.getAmount().multiply(BigDecimal.valueOf(sign));
+        if (transaction.getType() == Category.TransactionType.EXPENSE) {
+            delta = delta.negate();
+        }
+        userBalanceRepository.applyDelta(transaction.getUser().getId(), delta);
+    }
+
+    public BigDecimal getBalance(Long userId) {
+        return userBalanceRepository.findBalanceByUserId(userId).orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * Seed every balance from the transactions in one statement when the table is empty.
+     */
+    @Transactional
+    public void bootstrapIfEmpty() {
+        if (userBalanceRepository.count() == 0) {
+            int seeded = userBalanceRepository.seedAll();
+            if (seeded > 0) {
+                log.info("🌱 Balance table was empty, seeded {} user balance(s) from existing transactions", seeded);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${balance.reconcile.initial-delay:PT0S}", fixedDelayString = "${balance.reconcile.interval:PT1H}")
+    public void reconcile() {
+        List<Object[]> drift = userBalanceRepository.findDrift();
+        if (drift.isEmpty()) {
+            log.debug("Balance reconciliation: no drift");
+            return;
+        }
+
+        for (Object[] row : drift) {
+            Long userId = ((Number) row[0]).longValue();
+            log.warn("Balance drift user={}: full scan {} vs snapshot {}", userId, row[1], row[2]);
+            if (repairDrift) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userBalanceRepository.lockByUserId(userId);
+                    userBalanceRepository.recompute(userId);
+                    // Cached responses and ETags still carry the drifted balance
+                    eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+                });
+            }
+        }
+        log.info("Balance reconciliation: {} user(s) drifted{}", drift.size(), repairDrift ? ", repaired" : "");
+    }
+}
@@ -0,0 +1,53 @@
+package com.myfintrack.myfintrack.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.myfintrack.myfintrack.event.UserDataChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user data version, bumped after every committed change to a user's
+ * transactions or budgets. Cached responses are keyed by it, so a change makes
+ * every earlier entry for that user unreachable, whatever months it touched.
+ *
+ * <p>Versions come from one process-wide sequence and only move forward. Idle
+ * users are dropped from memory; a user without an entry reads the highest
+ * version dropped so far, which is never below any version it had before.
+ */
+@Service
+public class UserDataVersionService {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong floor = new AtomicLong();
+    private final Cache<Long, Long> versions;
+
+    public UserDataVersionService(
+            @Value("${cache.responses.ttl:PT5M}") Duration responseTtl) {
+        this.versions = Caffeine.newBuilder()
+                // Outlive any response cached under the version being dropped
+                .expireAfterAccess(responseTtl.multipliedBy(2))
+                .removalListener((Long userId, Long version, RemovalCause cause) -> {
+                    if (version != null) {
+                        floor.accumulateAndGet(version, Math::max);
+                    }
+                })
+                .build();
+    }
+
+    public long currentVersion(Long userId) {
+        Long version = versions.getIfPresent(userId);
+        return version != null ? version : floor.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        versions.asMap().merge(event.userId(), sequence.incrementAndGet(), Math::max);
+    }
+}
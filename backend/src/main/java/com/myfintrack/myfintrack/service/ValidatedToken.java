@@ -0,0 +1,17 @@
+package com.myfintrack.myfintrack.service;
+
+import java.time.Instant;
+
+/**
+ * Claims of an access token whose signature and expiry have been checked.
+ *
+ * @param subject   the user's email
+ * @param userId    the {@code uid} claim, null for tokens issued before it existed
+ * @param expiresAt when the token stops being accepted
+ */
+public record ValidatedToken(String subject, Long userId, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
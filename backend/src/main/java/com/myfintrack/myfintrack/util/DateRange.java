@@ -0,0 +1,59 @@
+package com.myfintrack.myfintrack.util;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Half-open date range {@code [start, end)}.
+ * Queries filter with {@code transaction_date >= :start AND transaction_date < :end}
+ * so Postgres can range-scan the (user_id[, type], transaction_date) indexes,
+ * which it cannot do for YEAR()/MONTH() predicates.
+ */
+public record DateRange(LocalDate start, LocalDate end) {
+
+    public DateRange {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Date range bounds are required");
+        }
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Date range start must be before end: " + start + " / " + end);
+        }
+    }
+
+    public static DateRange ofMonth(int year, int month) {
+        return ofMonths(YearMonth.of(year, month), YearMonth.of(year, month));
+    }
+
+    /**
+     * Whole calendar months from {@code first} through {@code last}, inclusive.
+     */
+    public static DateRange ofMonths(YearMonth first, YearMonth last) {
+        return new DateRange(first.atDay(1), last.plusMonths(1).atDay(1));
+    }
+
+    /**
+     * The {@code count} calendar months ending with (and including) {@code last}.
+     */
+    public static DateRange monthsEndingAt(YearMonth last, int count) {
+        return ofMonths(last.minusMonths(count - 1L), last);
+    }
+
+    /**
+     * Inclusive start and end dates, as accepted by the transaction list filters.
+     */
+    public static DateRange ofInclusive(LocalDate startDate, LocalDate endDate) {
+        return new DateRange(startDate, endDate.plusDays(1));
+    }
+
+    public YearMonth firstMonth() {
+        return YearMonth.from(start);
+    }
+
+    public YearMonth lastMonth() {
+        return YearMonth.from(end.minusDays(1));
+    }
+
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(start) && date.isBefore(end);
+    }
+}
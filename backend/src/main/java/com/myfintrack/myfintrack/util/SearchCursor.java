@@ -0,0 +1,40 @@
+package com.myfintrack.myfintrack.util;
+
+import com.myfintrack.myfintrack.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a ranked search: the (score, id) of the last row of the
+ * previous page, and whether the search had fallen back to fuzzy matching.
+ * The score is the exact float the database computed, so the next page can
+ * seek past it; like {@link TransactionCursor} it travels as an opaque token.
+ */
+public record SearchCursor(float score, long id, boolean fuzzy) {
+
+    public String encode() {
+        String raw = Float.floatToIntBits(score) + ":" + id + (fuzzy ? ":fuzzy" : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Null or blank means the first page. */
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length == 3 && !parts[2].equals("fuzzy") || parts.length > 3) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new SearchCursor(
+                    Float.intBitsToFloat(Integer.parseInt(parts[0])),
+                    Long.parseLong(parts[1]),
+                    parts.length == 3);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.myfintrack.myfintrack.web;
+
+import com.myfintrack.myfintrack.service.UserDataVersionService;
+import com.myfintrack.myfintrack.service.UserDetailsImpl;
+import com.myfintrack.myfintrack.util.Digests;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HexFormat;
+
+/**
+ * Conditional GET for endpoints whose responses depend only on the caller's
+ * transactions and budgets (categories are shared seed data with no write path).
+ *
+ * <p>The ETag is derived from the user's data version, the request URL and a
+ * per-process epoch, so it can be checked before the handler runs: a matching
+ * If-None-Match is answered with 304 without touching the aggregation queries
+ * or serializing a body. Otherwise the ETag is handed to {@link ETagResponseAdvice},
+ * which sets it on successful, complete responses.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".etag";
+    static final String CACHE_CONTROL = "private, no-cache";
+
+    // Versions live in memory; a restart must not revive ETags handed out before it
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private final UserDataVersionService versionService;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        Long userId = currentUserId();
+        if (userId == null) {
+            return true;
+        }
+
+        String etag = etagFor(request, userId);
+        if (matches(request, etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            return false;
+        }
+
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    private String etagFor(HttpServletRequest request, Long userId) {
+        // The current month is part of the key because dashboard and budget
+        // endpoints default to it when no period is given.
+        String representation = userId + "|" + request.getRequestURI() + "?" + request.getQueryString()
+                + "|" + YearMonth.now();
+        return "\"" + EPOCH + "-" + versionService.currentVersion(userId) + "-" + digest(representation) + "\"";
+    }
+
+    private static boolean matches(HttpServletRequest request, String etag) {
+        for (String header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                // "*" is not honoured: it would answer 304 for ids the handler rejects
+                if (tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl details) {
+            return details.getUser().getId();
+        }
+        return null;
+    }
+
+    private static String digest(String value) {
+        return HexFormat.of().formatHex(Digests.sha256(value), 0, 12);
+    }
+}
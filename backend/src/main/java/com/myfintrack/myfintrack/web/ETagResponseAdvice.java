@@ -0,0 +1,57 @@
+package com.myfintrack.myfintrack.web;
+
+import com.myfintrack.myfintrack.dto.response.ApiResponse;
+import com.myfintrack.myfintrack.dto.response.DashboardResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Sets the ETag computed by {@link ConditionalGetInterceptor} on successful
+ * responses. Partial dashboards are left without one so the client fetches
+ * the complete response next time instead of revalidating the partial one.
+ */
+@RestControllerAdvice
+public class ETagResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType,
+            @NonNull MediaType selectedContentType,
+            @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        Object etag = servletRequest.getServletRequest().getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+        if (etag == null
+                || servletResponse.getServletResponse().getStatus() != HttpStatus.OK.value()
+                || isPartial(body)) {
+            return body;
+        }
+
+        response.getHeaders().setETag((String) etag);
+        response.getHeaders().setCacheControl(ConditionalGetInterceptor.CACHE_CONTROL);
+        return body;
+    }
+
+    private static boolean isPartial(Object body) {
+        return body instanceof ApiResponse<?> apiResponse
+                && apiResponse.getData() instanceof DashboardResponse dashboard
+                && dashboard.isPartial();
+    }
+}
@@ -0,0 +1,139 @@
+package com.myfintrack.myfintrack.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link RequestTrace} around each /api request, ahead of the
+ * security chain so principal loading is counted too, and records per
+ * endpoint (method + URI pattern) percentile histograms:
+ * {@code http.server.db.statements}, {@code http.server.db.time} and
+ * {@code http.server.hydration.time}. Handler time is the existing
+ * {@code http.server.requests} timer.
+ *
+ * <p>With {@code performance-trace.server-timing} on, the same numbers go out
+ * as a Server-Timing header so they show up in the browser's network panel.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class PerformanceTraceFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean serverTiming;
+
+    public PerformanceTraceFilter(
+            MeterRegistry meterRegistry,
+            @Value("${performance-trace.enabled:true}") boolean enabled,
+            @Value("${performance-trace.server-timing:false}") boolean serverTiming) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestTrace trace = RequestTrace.start();
+        ServerTimingResponse timed = serverTiming ? new ServerTimingResponse(response, trace) : null;
+        try {
+            filterChain.doFilter(request, timed != null ? timed : response);
+            if (timed != null && !response.isCommitted()) {
+                timed.addServerTiming();
+            }
+        } finally {
+            RequestTrace.end();
+            record(request, trace);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestTrace trace) {
+        // Only requests that reached a handler: raw URIs would make tags unbounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern.toString());
+        DistributionSummary.builder("http.server.db.statements")
+                .description("JDBC statements executed per request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(trace.getStatements());
+        Timer.builder("http.server.db.time")
+                .description("Time spent executing JDBC statements per request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(trace.getDatabaseNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("http.server.hydration.time")
+                .description("Time result sets stayed open while rows were mapped per request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(trace.getResultSetNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    static String serverTiming(RequestTrace trace) {
+        return String.format(Locale.ROOT,
+                "db;dur=%.2f;desc=\"%d statements\", hydration;dur=%.2f;desc=\"%d rows\", app;dur=%.2f",
+                millis(trace.getDatabaseNanos()), trace.getStatements(),
+                millis(trace.getResultSetNanos()), trace.getRows(),
+                millis(trace.elapsedNanos()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /** Adds the header right before the response commits, while headers can still change. */
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final RequestTrace trace;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTrace trace) {
+            super(response);
+            this.trace = trace;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addServerTiming();
+        }
+
+        void addServerTiming() {
+            if (!added) {
+                added = true;
+                setHeader(SERVER_TIMING, serverTiming(trace));
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.myfintrack.myfintrack.web;
+
+/**
+ * Per-request counters filled in by the JDBC proxies in
+ * {@link com.myfintrack.myfintrack.config.TracingDataSource} and read by
+ * {@link PerformanceTraceFilter}. Bound to the request thread, so work handed
+ * to other threads (the parallel dashboard mode) is not included.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private int statements;
+    private long databaseNanos;
+    private long resultSetNanos;
+    private long rows;
+
+    static RequestTrace start() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /** The trace of the request running on this thread, or null outside one. */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    public void statementExecuted(long nanos) {
+        statements++;
+        databaseNanos += nanos;
+    }
+
+    /** Time a result set stayed open while its rows were mapped or hydrated. */
+    public void resultSetConsumed(long nanos, long rowCount) {
+        resultSetNanos += nanos;
+        rows += rowCount;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getDatabaseNanos() {
+        return databaseNanos;
+    }
+
+    public long getResultSetNanos() {
+        return resultSetNanos;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
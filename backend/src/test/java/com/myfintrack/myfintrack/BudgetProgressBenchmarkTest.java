@@ -0,0 +1,168 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.TransactionRequest;
+import com.myfintrack.myfintrack.dto.response.BudgetResponse;
+import com.myfintrack.myfintrack.entity.Budget;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.BudgetRepository;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.repository.TransactionMonthlyRollupRepository;
+import com.myfintrack.myfintrack.service.BudgetService;
+import com.myfintrack.myfintrack.service.TransactionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the batched budget progress read against the previous
+ * per-budget access pattern (one spent query and one category load per row).
+ * Statement counts are asserted; latencies are printed for comparison.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class BudgetProgressBenchmarkTest {
+
+    private static final int RUNS = 5;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = testUsers.create("budget-bench");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 5, 50, 500 })
+    void batchedProgressUsesConstantStatements(int budgetCount) {
+        List<Budget> budgets = seedBudgets(budgetCount);
+        Budget spentBudget = budgets.get(0);
+        transactionService.createTransaction(user, new TransactionRequest(
+                spentBudget.getCategory().getId(),
+                Category.TransactionType.EXPENSE,
+                BigDecimal.valueOf(125_000),
+                "Bench spend",
+                YearMonth.of(spentBudget.getYear(), spentBudget.getMonth()).atDay(10)));
+
+        Measurement batched = measure(() -> budgetService.getBudgets(user, null, null));
+        Measurement legacy = measure(this::legacyGetBudgets);
+
+        System.out.printf("📊 budgets=%d batched: %d statements, %.2f ms | per-budget: %d statements, %.2f ms%n",
+                budgetCount, batched.statements(), batched.medianMillis(),
+                legacy.statements(), legacy.medianMillis());
+
+        assertEquals(2, batched.statements(), "Budgets with categories plus one grouped spent query");
+        assertTrue(legacy.statements() > budgetCount, "Per-budget path issues a query per row");
+
+        List<BudgetResponse> responses = budgetService.getBudgets(user, null, null);
+        assertEquals(budgetCount, responses.size());
+        BudgetResponse spent = responses.stream()
+                .filter(r -> r.getId().equals(spentBudget.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(125_000).compareTo(spent.getSpent()));
+        assertEquals(1, responses.stream().filter(r -> r.getSpent().signum() > 0).count());
+
+        BudgetResponse single = budgetService.getBudgetById(user, spentBudget.getId());
+        assertEquals(0, BigDecimal.valueOf(125_000).compareTo(single.getSpent()));
+    }
+
+    /**
+     * The access pattern getBudgets used before: lazy category per budget and
+     * one rollup query per budget.
+     */
+    private List<BudgetResponse> legacyGetBudgets() {
+        List<BudgetResponse> responses = new ArrayList<>();
+        for (Budget budget : budgetRepository.findByUserIdOrderByMonthDescYearDesc(user.getId())) {
+            BigDecimal spent = rollupRepository.getTotalByTypeAndMonthAndCategoryId(
+                    user.getId(), Category.TransactionType.EXPENSE,
+                    budget.getMonth(), budget.getYear(), budget.getCategory().getId());
+            responses.add(BudgetResponse.builder()
+                    .id(budget.getId())
+                    .categoryName(budget.getCategory().getName())
+                    .monthlyLimit(budget.getMonthlyLimit())
+                    .spent(spent)
+                    .build());
+        }
+        return responses;
+    }
+
+    private Measurement measure(Supplier<List<BudgetResponse>> call) {
+        long statements = 0;
+        double[] millis = new double[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            entityManager.flush();
+            entityManager.clear();
+            statistics.clear();
+
+            long start = System.nanoTime();
+            call.get();
+            millis[run] = (System.nanoTime() - start) / 1_000_000.0;
+            statements = statistics.getPrepareStatementCount();
+        }
+        Arrays.sort(millis);
+        return new Measurement(statements, millis[RUNS / 2]);
+    }
+
+    private List<Budget> seedBudgets(int count) {
+        List<Category> categories = categoryRepository.findByType(Category.TransactionType.EXPENSE);
+        YearMonth current = YearMonth.now();
+        List<Budget> budgets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            YearMonth period = current.minusMonths(i / categories.size());
+            budgets.add(Budget.builder()
+                    .user(user)
+                    .category(categories.get(i % categories.size()))
+                    .monthlyLimit(BigDecimal.valueOf(1_000_000))
+                    .month(period.getMonthValue())
+                    .year(period.getYear())
+                    .build());
+        }
+        return budgetRepository.saveAll(budgets);
+    }
+
+    private record Measurement(long statements, double medianMillis) {
+    }
+}
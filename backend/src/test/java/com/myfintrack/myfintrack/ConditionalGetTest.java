@@ -0,0 +1,126 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.TransactionRequest;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Versions move after commit, so writes here are committed and cleaned up.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Category food;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("conditional-get");
+        food = categoryRepository.findByType(Category.TransactionType.EXPENSE).get(0);
+        bearer = testUsers.bearer(user);
+        transactionService.createTransaction(user, new TransactionRequest(
+                food.getId(), Category.TransactionType.EXPENSE, BigDecimal.valueOf(10_000), "ETag", LocalDate.now()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void matchingETagIsAnsweredWithoutRunningTheHandler() throws Exception {
+        for (String url : new String[] { "/api/dashboard/summary", "/api/budgets/summary", "/api/transactions" }) {
+            String etag = fetch(url).getResponse().getHeader(HttpHeaders.ETAG);
+            assertNotNull(etag, url);
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            MvcResult notModified = mockMvc.perform(get(url)
+                            .header(HttpHeaders.AUTHORIZATION, bearer)
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag))
+                    .andReturn();
+
+            assertEquals(0, notModified.getResponse().getContentLength(), url);
+            assertEquals(0, statistics.getPrepareStatementCount(), "The principal comes from cache: " + url);
+        }
+    }
+
+    @Test
+    void writesInvalidateETags() throws Exception {
+        String etag = fetch("/api/dashboard/summary").getResponse().getHeader(HttpHeaders.ETAG);
+        String otherUrl = fetch("/api/dashboard/summary?month=1&year=2020").getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, otherUrl);
+
+        transactionService.createTransaction(user, new TransactionRequest(
+                food.getId(), Category.TransactionType.EXPENSE, BigDecimal.valueOf(5_000), "Backdated",
+                LocalDate.now().minusMonths(2)));
+
+        MvcResult refreshed = mockMvc.perform(get("/api/dashboard/summary")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(etag, refreshed.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void wildcardDoesNotHideTheHandlersAnswer() throws Exception {
+        mockMvc.perform(get("/api/transactions/" + Long.MAX_VALUE)
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+        fetch("/api/transactions");
+        mockMvc.perform(get("/api/transactions")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isOk());
+    }
+
+    private MvcResult fetch(String url) throws Exception {
+        return mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andReturn();
+    }
+}
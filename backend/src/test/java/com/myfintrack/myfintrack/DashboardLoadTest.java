@@ -0,0 +1,138 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.TransactionRequest;
+import com.myfintrack.myfintrack.entity.Budget;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.BudgetRepository;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.service.DashboardService;
+import com.myfintrack.myfintrack.service.TransactionService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent-user latency of the dashboard in each aggregation mode.
+ * Slow, so only runs on request:
+ *
+ * <pre>
+ * mvn test -Dtest=DashboardLoadTest -Dloadtest=true
+ * </pre>
+ */
+@SpringBootTest(properties = "cache.responses.enabled=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class DashboardLoadTest {
+
+    private static final int USERS = 4;
+    private static final int TRANSACTIONS_PER_USER = 400;
+    private static final int CONCURRENT_CLIENTS = 16;
+    private static final int REQUESTS_PER_CLIENT = 40;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeAll
+    void seed() {
+        List<Category> categories = categoryRepository.findAll();
+        for (int u = 0; u < USERS; u++) {
+            User user = testUsers.create("dashboard-load-" + u);
+            users.add(user);
+            for (int i = 0; i < TRANSACTIONS_PER_USER; i++) {
+                Category category = categories.get(i % categories.size());
+                transactionService.createTransaction(user, new TransactionRequest(
+                        category.getId(), category.getType(), BigDecimal.valueOf(5_000L + i),
+                        "Load " + i, today.minusDays(i % 180)));
+            }
+            categories.stream()
+                    .filter(c -> c.getType() == Category.TransactionType.EXPENSE)
+                    .forEach(category -> budgetRepository.save(Budget.builder()
+                            .user(user)
+                            .category(category)
+                            .monthlyLimit(BigDecimal.valueOf(250_000))
+                            .month(today.getMonthValue())
+                            .year(today.getYear())
+                            .build()));
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ReflectionTestUtils.setField(dashboardService, "aggregationMode", "single-statement");
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void compareAggregationModes() throws Exception {
+        for (String mode : List.of("per-section", "parallel", "single-statement")) {
+            ReflectionTestUtils.setField(dashboardService, "aggregationMode", mode);
+            run(CONCURRENT_CLIENTS * 2); // warm-up
+            List<Double> latencies = run(CONCURRENT_CLIENTS * REQUESTS_PER_CLIENT);
+            Collections.sort(latencies);
+            System.out.printf("📊 mode=%-16s clients=%d requests=%d p50=%.2f ms p99=%.2f ms%n",
+                    mode, CONCURRENT_CLIENTS, latencies.size(),
+                    percentile(latencies, 50), percentile(latencies, 99));
+        }
+    }
+
+    private List<Double> run(int requests) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_CLIENTS);
+        try {
+            List<Future<Double>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                User user = users.get(i % users.size());
+                futures.add(clients.submit(() -> {
+                    long start = System.nanoTime();
+                    var response = dashboardService.getDashboardSummary(
+                            user, today.getMonthValue(), today.getYear());
+                    assertFalse(response.isPartial());
+                    return (System.nanoTime() - start) / 1_000_000.0;
+                }));
+            }
+            List<Double> latencies = new ArrayList<>();
+            for (Future<Double> future : futures) {
+                latencies.add(future.get());
+            }
+            return latencies;
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    private static double percentile(List<Double> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0));
+    }
+}
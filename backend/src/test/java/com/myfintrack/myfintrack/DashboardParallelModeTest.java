@@ -0,0 +1,89 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.TransactionRequest;
+import com.myfintrack.myfintrack.dto.response.DashboardResponse;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.service.DashboardService;
+import com.myfintrack.myfintrack.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sections run on worker threads with their own connections, so the data is
+ * committed up front and removed afterwards instead of rolled back.
+ */
+@SpringBootTest(properties = {
+        "dashboard.aggregation-mode=parallel",
+        "dashboard.parallel.timeout.default=5s",
+        "dashboard.parallel.timeout.trend=0ms"
+})
+class DashboardParallelModeTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User user;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("dashboard-parallel");
+
+        List<Category> expenseCategories = categoryRepository.findByType(Category.TransactionType.EXPENSE);
+        for (int i = 0; i < 12; i++) {
+            Category category = expenseCategories.get(i % expenseCategories.size());
+            transactionService.createTransaction(user, new TransactionRequest(
+                    category.getId(), category.getType(), BigDecimal.valueOf(1_000L + i), "Parallel " + i, today));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(dashboardService, "aggregationMode", "parallel");
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void sectionMissingItsDeadlineYieldsPartialResponse() {
+        DashboardResponse parallel = dashboardService.getDashboardSummary(
+                user, today.getMonthValue(), today.getYear());
+
+        assertTrue(parallel.isPartial());
+        assertEquals(List.of("trend"), parallel.getUnavailableSections());
+        assertEquals(6, parallel.getMonthlyTrend().size(), "Trend falls back to zero-filled months");
+        assertTrue(parallel.getMonthlyTrend().stream().allMatch(m -> m.getExpense().signum() == 0));
+
+        ReflectionTestUtils.setField(dashboardService, "aggregationMode", "single-statement");
+        DashboardResponse sequential = dashboardService.getDashboardSummary(
+                user, today.getMonthValue(), today.getYear());
+
+        assertFalse(sequential.isPartial());
+        assertEquals(0, sequential.getTotalExpense().compareTo(parallel.getTotalExpense()));
+        assertEquals(0, sequential.getCurrentBalance().compareTo(parallel.getCurrentBalance()));
+        assertEquals(sequential.getExpenseByCategory(), parallel.getExpenseByCategory());
+        assertEquals(sequential.getRecentTransactions().size(), parallel.getRecentTransactions().size());
+        assertEquals(sequential.getRecentTransactions().get(0).getId(),
+                parallel.getRecentTransactions().get(0).getId());
+    }
+}
@@ -0,0 +1,145 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.TransactionRequest;
+import com.myfintrack.myfintrack.dto.response.DashboardResponse;
+import com.myfintrack.myfintrack.dto.response.TransactionResponse;
+import com.myfintrack.myfintrack.entity.Budget;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.BudgetRepository;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.repository.TransactionRepository;
+import com.myfintrack.myfintrack.service.DashboardService;
+import com.myfintrack.myfintrack.service.TransactionService;
+import com.myfintrack.myfintrack.util.DateRange;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class DashboardQueryCountTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = testUsers.create("dashboard-count");
+    }
+
+    @Test
+    void dashboardUsesOneStatementWithoutBudgets() {
+        seedTransactions(categoryRepository.findByType(Category.TransactionType.EXPENSE), 30);
+
+        long statements = countStatements();
+
+        assertEquals(1, statements, "Dashboard should be served by a single statement");
+        DashboardResponse response = dashboardService.getDashboardSummary(
+                user, today.getMonthValue(), today.getYear());
+        assertEquals(0, BigDecimal.valueOf(30 * 10_000L + 435).compareTo(response.getTotalExpense()));
+        assertEquals(0, response.getTotalExpense().negate().compareTo(response.getCurrentBalance()));
+        assertEquals(10, response.getRecentTransactions().size());
+    }
+
+    @Test
+    void dashboardStatementCountDoesNotGrowWithBudgets() {
+        List<Category> expenseCategories = categoryRepository.findByType(Category.TransactionType.EXPENSE);
+        seedTransactions(expenseCategories, 30);
+        expenseCategories.stream().limit(8).forEach(category -> budgetRepository.save(Budget.builder()
+                .user(user)
+                .category(category)
+                .monthlyLimit(BigDecimal.valueOf(500_000))
+                .month(today.getMonthValue())
+                .year(today.getYear())
+                .build()));
+
+        long statements = countStatements();
+
+        assertEquals(1, statements, "Statement count must stay constant as budgets are added");
+    }
+
+    @Test
+    void recentTransactionsAreLimitedInSqlWithoutHydratingEntities() {
+        List<Category> expenseCategories = categoryRepository.findByType(Category.TransactionType.EXPENSE);
+        seedTransactions(expenseCategories, 30);
+        DateRange period = DateRange.ofMonth(today.getYear(), today.getMonthValue());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<TransactionResponse> recent = transactionRepository.findRecentByUserIdAndDateRange(
+                user.getId(), period.start(), period.end(), PageRequest.of(0, 10));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount(), "Recent list should be a DTO projection");
+        assertEquals(10, recent.size());
+        assertEquals("Seed 29", recent.get(0).getDescription());
+        assertNotNull(recent.get(0).getCategoryName());
+    }
+
+    private long countStatements() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        DashboardResponse response = dashboardService.getDashboardSummary(
+                user, today.getMonthValue(), today.getYear());
+
+        assertNotNull(response);
+        assertEquals(6, response.getMonthlyTrend().size());
+        System.out.println("📊 Dashboard statements: " + statistics.getPrepareStatementCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedTransactions(List<Category> categories, int count) {
+        for (int i = 0; i < count; i++) {
+            Category category = categories.get(i % categories.size());
+            transactionService.createTransaction(user, new TransactionRequest(
+                    category.getId(),
+                    category.getType(),
+                    BigDecimal.valueOf(10_000L + i),
+                    "Seed " + i,
+                    today.withDayOfMonth(1)));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.repository.DashboardQueryRepository;
+import com.myfintrack.myfintrack.repository.TransactionMonthlyRollupRepository;
+import com.myfintrack.myfintrack.repository.TransactionRepository;
+import com.myfintrack.myfintrack.util.DateRange;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the period predicates of the dashboard queries are answered
+ * with index range scans on transaction_date / (year, month). The SQL
+ * explained is what Hibernate actually sends for the repository calls,
+ * captured with a StatementInspector and planned with EXPLAIN (GENERIC_PLAN)
+ * so the placeholders need no values. Sequential and bitmap scans are
+ * disabled for the test transaction so the planner's choice does not depend
+ * on how much data the test database happens to hold; what is asserted is
+ * that the date bounds become index conditions rather than filters.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.myfintrack.myfintrack.DateRangeIndexUsageTest$CapturingInspector")
+@Transactional
+class DateRangeIndexUsageTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private DashboardQueryRepository dashboardQueryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final DateRange month = DateRange.ofMonth(2025, 3);
+    private final DateRange trend = DateRange.monthsEndingAt(YearMonth.of(2025, 3), 6);
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        // Once the table has been analyzed empty, every user_id index estimates zero rows and
+        // ties go to the newest one. Some uncommitted rows restore real cost estimates.
+        userId = jdbcTemplate.queryForObject("INSERT INTO users (email, password, full_name, enabled, "
+                + "failed_attempts, created_at, updated_at) VALUES (?, 'x', 'Index Usage', true, 0, now(), now()) "
+                + "RETURNING id", Long.class, "index-usage-" + System.nanoTime() + "@test.local");
+        jdbcTemplate.update("INSERT INTO transactions (user_id, category_id, type, amount, description, "
+                + "transaction_date, created_at, updated_at) "
+                + "SELECT ?, (SELECT MIN(id) FROM categories), 'EXPENSE', g, 'Index usage', "
+                + "DATE '2024-01-01' + (g % 700), now(), now() FROM generate_series(1, 1000) g", userId);
+        // EXPLAIN of SQL with unbound placeholders has to be parsed server-side without binds
+        jdbcTemplate.execute("CREATE FUNCTION pg_temp.explain_generic(query text) RETURNS SETOF text "
+                + "LANGUAGE plpgsql AS $$ BEGIN RETURN QUERY EXECUTE 'EXPLAIN (GENERIC_PLAN) ' || query; END $$");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+    }
+
+    @Test
+    void recentListingRangeScansUserDateIndex() {
+        String plan = explain(() -> transactionRepository.findRecentByUserIdAndDateRange(
+                userId, month.start(), month.end(), PageRequest.of(0, 10)));
+
+        assertTrue(rangeScans(plan, "idx_transactions_user_date", "transaction_date >="), plan);
+    }
+
+    @Test
+    void trendRangeScansRollupPeriodIndex() {
+        String plan = explain(() -> rollupRepository.getMonthlyTrend(userId,
+                trend.firstMonth().getYear(), trend.firstMonth().getMonthValue(),
+                trend.lastMonth().getYear(), trend.lastMonth().getMonthValue()));
+
+        assertTrue(rangeScans(plan, "idx_rollup_user_period", "ROW(year, month) >="), plan);
+    }
+
+    @Test
+    void dashboardStatementRangeScansRecentAndTrend() {
+        String plan = explain(() -> dashboardQueryRepository.findDashboardSections(userId, month, trend, 10));
+
+        assertTrue(rangeScans(plan, "idx_transactions_user_date", "transaction_date >="), plan);
+        assertTrue(rangeScans(plan, "idx_rollup_user_period", "ROW(year, month) >="), plan);
+    }
+
+    @Test
+    void monthRangesAreHalfOpen() {
+        assertEquals(YearMonth.of(2025, 3).atDay(1), month.start());
+        assertEquals(YearMonth.of(2025, 4).atDay(1), month.end());
+        assertTrue(month.contains(YearMonth.of(2025, 3).atEndOfMonth()));
+        assertFalse(month.contains(month.end()));
+
+        DateRange trend = DateRange.monthsEndingAt(YearMonth.of(2025, 2), 6);
+        assertEquals(YearMonth.of(2024, 9), trend.firstMonth());
+        assertEquals(YearMonth.of(2025, 2), trend.lastMonth());
+    }
+
+    /** Run {@code query} and return the generic plan of the last statement it sent. */
+    private String explain(Runnable query) {
+        CapturingInspector.STATEMENTS.clear();
+        query.run();
+        assertFalse(CapturingInspector.STATEMENTS.isEmpty(), "The query sent no SQL");
+        String sql = CapturingInspector.STATEMENTS.get(CapturingInspector.STATEMENTS.size() - 1);
+
+        StringBuilder numbered = new StringBuilder(sql.length());
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        List<String> lines = jdbcTemplate.queryForList(
+                "SELECT * FROM pg_temp.explain_generic(?)", String.class, numbered.toString());
+        String plan = String.join("\n", lines);
+        System.out.println("📋 " + sql + "\n" + plan);
+        return plan;
+    }
+
+    /** Whether some scan on {@code index} has an Index Cond containing {@code condition}. */
+    private static boolean rangeScans(String plan, String index, String condition) {
+        List<String> lines = plan.lines().toList();
+        for (int i = 0; i < lines.size(); i++) {
+            if (!lines.get(i).contains(" using " + index + " ")) {
+                continue;
+            }
+            for (int j = i + 1; j < lines.size() && !lines.get(j).contains("->"); j++) {
+                if (lines.get(j).contains("Index Cond") && lines.get(j).contains(condition)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Records the SQL Hibernate prepares; registered for this test's context only. */
+    public static final class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.service.JwtService;
+import com.myfintrack.myfintrack.service.UserDetailsImpl;
+import com.myfintrack.myfintrack.service.ValidatedToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class JwtValidationTest {
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    private final UserDetailsImpl userDetails = new UserDetailsImpl(User.builder()
+            .id(42L)
+            .email("jwt-validation@test.local")
+            .password("x")
+            .fullName("JWT")
+            .enabled(true)
+            .build());
+
+    @Test
+    void repeatedValidationIsServedFromCache() {
+        String token = jwtService.generateToken(userDetails);
+
+        ValidatedToken first = jwtService.validate(token);
+        double hits = cacheGets("hit");
+        ValidatedToken second = jwtService.validate(token);
+
+        assertEquals("jwt-validation@test.local", first.subject());
+        assertEquals(42L, first.userId());
+        assertSame(first, second);
+        assertEquals(hits + 1, cacheGets("hit"));
+    }
+
+    @Test
+    void tamperedTokenIsRejectedAfterTheOriginalWasCached() {
+        String token = jwtService.generateToken(userDetails);
+        jwtService.validate(token);
+
+        String[] parts = token.split("\\.");
+        char last = parts[2].charAt(0);
+        String tampered = parts[0] + "." + parts[1] + "." + (last == 'A' ? 'B' : 'A') + parts[2].substring(1);
+
+        assertThrows(JwtException.class, () -> jwtService.validate(tampered));
+        assertFalse(jwtService.isTokenValid(tampered, userDetails));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String expired = Jwts.builder()
+                .subject(userDetails.getUsername())
+                .issuedAt(new Date(System.currentTimeMillis() - 120_000))
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.validate(expired));
+        assertThrows(ExpiredJwtException.class, () -> jwtService.validate(expired));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt-validation").tag("result", result)
+                .functionCounter().count();
+    }
+}
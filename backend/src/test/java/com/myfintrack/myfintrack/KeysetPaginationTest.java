@@ -0,0 +1,129 @@
+package com.myfintrack.myfintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "transactions.page.max-size=10"
+})
+@AutoConfigureMockMvc
+class KeysetPaginationTest {
+
+    private static final int ROWS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("keyset");
+        bearer = testUsers.bearer(user);
+        Category food = categoryRepository.findByType(Category.TransactionType.EXPENSE).get(0);
+        // Five rows per day so page boundaries fall inside runs of equal dates
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < ROWS; i++) {
+            jdbcTemplate.update("INSERT INTO transactions (user_id, category_id, type, amount, description, "
+                            + "transaction_date, created_at, updated_at) VALUES (?, ?, 'EXPENSE', 1000, ?, ?, now(), now())",
+                    user.getId(), food.getId(), "Row " + i, Date.valueOf(today.minusDays(i / 5)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void walksEveryRowOnceInDateThenIdOrderWithoutCounting() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<JsonNode> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            statistics.clear();
+            JsonNode data = fetch(get("/api/transactions").param("cursor", cursor).param("size", "10"));
+            pages++;
+            data.get("content").forEach(seen::add);
+            cursor = data.get("nextCursor").isNull() ? null : data.get("nextCursor").asText();
+            assertEquals(cursor != null, data.get("hasNext").asBoolean());
+            if (pages > 1) {
+                assertEquals(1, statistics.getPrepareStatementCount(), "One seek per page, no count");
+            }
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(ROWS, seen.size());
+        assertEquals(ROWS, seen.stream().map(row -> row.get("id").asLong()).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            LocalDate previousDate = LocalDate.parse(seen.get(i - 1).get("transactionDate").asText());
+            LocalDate date = LocalDate.parse(seen.get(i).get("transactionDate").asText());
+            assertTrue(date.isBefore(previousDate) || date.equals(previousDate)
+                    && seen.get(i).get("id").asLong() < seen.get(i - 1).get("id").asLong());
+        }
+    }
+
+    @Test
+    void pageSizeIsCappedInBothModes() throws Exception {
+        assertEquals(10, fetch(get("/api/transactions").param("cursor", "").param("size", "500"))
+                .get("content").size());
+        assertEquals(10, fetch(get("/api/transactions").param("size", "500")).get("content").size());
+    }
+
+    @Test
+    void rejectsTamperedCursor() throws Exception {
+        mockMvc.perform(get("/api/transactions").param("cursor", "not-a-cursor")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode fetch(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("data");
+    }
+}
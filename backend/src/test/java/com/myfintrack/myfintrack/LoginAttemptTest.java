@@ -0,0 +1,127 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.LoginRequest;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.exception.TooManyRequestsException;
+import com.myfintrack.myfintrack.service.AuthenticationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "security.password-hashing.bcrypt-strength=4",
+        "security.login-attempts.ip-max-failures=8"
+})
+class LoginAttemptTest {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private String ip;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("attempts", new BCryptPasswordEncoder(4).encode(PASSWORD));
+        ip = "10.0." + (System.nanoTime() % 250) + "." + (System.nanoTime() % 250);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void failuresAreCountedInMemoryAndOnlyTheLockIsPersisted() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(BadCredentialsException.class, () -> login("wrong"));
+        }
+        assertEquals(0, failedAttempts());
+
+        assertThrows(LockedException.class, () -> login("wrong"));
+        awaitLockPersisted();
+
+        // Rejected before any query or hash, even with the right password
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long hashes = meterRegistry.get("password.hash").tag("operation", "matches").timer().count();
+        assertThrows(LockedException.class, () -> login(PASSWORD));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(hashes, meterRegistry.get("password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void successClearsFailures() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(BadCredentialsException.class, () -> login("wrong"));
+        }
+        assertNotNull(login(PASSWORD).getAccessToken());
+
+        // Six failures in total, but the success in between reset the count
+        for (int i = 0; i < 3; i++) {
+            assertThrows(BadCredentialsException.class, () -> login("wrong"));
+        }
+        assertNotNull(login(PASSWORD).getAccessToken());
+    }
+
+    @Test
+    void oneAddressTryingManyEmailsIsBlocked() {
+        for (int i = 0; i < 8; i++) {
+            String email = "nobody-" + i + "-" + System.nanoTime() + "@test.local";
+            assertThrows(BadCredentialsException.class,
+                    () -> authenticationService.authenticate(new LoginRequest(email, "wrong"), ip));
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> login(PASSWORD));
+    }
+
+    private com.myfintrack.myfintrack.dto.response.AuthResponse login(String password) {
+        return authenticationService.authenticate(new LoginRequest(user.getEmail(), password), ip);
+    }
+
+    private int failedAttempts() {
+        return jdbcTemplate.queryForObject("SELECT failed_attempts FROM users WHERE id = ?", Integer.class, user.getId());
+    }
+
+    private void awaitLockPersisted() throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            Timestamp lockTime = jdbcTemplate.queryForObject(
+                    "SELECT lock_time FROM users WHERE id = ?", Timestamp.class, user.getId());
+            if (lockTime != null) {
+                assertEquals(5, failedAttempts());
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("Lock was not persisted");
+    }
+}
@@ -0,0 +1,112 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.LoginRequest;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.exception.ServiceUnavailableException;
+import com.myfintrack.myfintrack.service.AuthenticationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "security.password-hashing.bcrypt-strength=5",
+        "security.password-hashing.threads=1",
+        "security.password-hashing.queue-capacity=1",
+        "security.password-hashing.max-wait=1s"
+})
+@AutoConfigureMockMvc
+class PasswordHashingTest {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ExecutorService passwordHashingExecutor;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("hashing", new BCryptPasswordEncoder(4).encode(PASSWORD));
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void loginRehashesPasswordsMadeWithAnotherCost() {
+        authenticationService.authenticate(new LoginRequest(user.getEmail(), PASSWORD));
+
+        String hash = jdbcTemplate.queryForObject("SELECT password FROM users WHERE id = ?", String.class, user.getId());
+        assertTrue(hash.startsWith("$2a$05$"), hash);
+        assertTrue(passwordEncoder.matches(PASSWORD, hash));
+
+        // Already at the configured cost: left alone
+        authenticationService.authenticate(new LoginRequest(user.getEmail(), PASSWORD));
+        assertEquals(hash,
+                jdbcTemplate.queryForObject("SELECT password FROM users WHERE id = ?", String.class, user.getId()));
+    }
+
+    @Test
+    void saturatedPoolRejectsImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        // One worker busy, one task queued: the pool is full
+        passwordHashingExecutor.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        started.await();
+        passwordHashingExecutor.submit(() -> {
+            release.await();
+            return null;
+        });
+        try {
+            long start = System.nanoTime();
+            assertThrows(ServiceUnavailableException.class, () -> passwordEncoder.encode("anything"));
+            assertTrue(System.nanoTime() - start < 500_000_000L, "Rejection should not wait for a worker");
+
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"email\":\"" + user.getEmail() + "\",\"password\":\"" + PASSWORD + "\"}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        } finally {
+            release.countDown();
+        }
+    }
+}
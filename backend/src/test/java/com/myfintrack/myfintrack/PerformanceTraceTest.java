@@ -0,0 +1,125 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.TransactionRequest;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.service.TransactionService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "performance-trace.server-timing=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class PerformanceTraceTest {
+
+    private static final Pattern STATEMENTS = Pattern.compile("db;dur=[0-9.]+;desc=\"(\\d+) statements\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User user;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("trace");
+        Category food = categoryRepository.findByType(Category.TransactionType.EXPENSE).get(0);
+        bearer = testUsers.bearer(user);
+        for (int i = 0; i < 3; i++) {
+            transactionService.createTransaction(user, new TransactionRequest(
+                    food.getId(), Category.TransactionType.EXPENSE, BigDecimal.valueOf(1_000), "Trace " + i,
+                    LocalDate.now()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void serverTimingMatchesStatementsHibernateExecuted() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        String serverTiming = mockMvc.perform(get("/api/transactions").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Server-Timing");
+
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.contains("hydration;dur="), serverTiming);
+        assertTrue(serverTiming.contains("app;dur="), serverTiming);
+        Matcher matcher = STATEMENTS.matcher(serverTiming);
+        assertTrue(matcher.find(), serverTiming);
+        assertEquals(statistics.getPrepareStatementCount(), Long.parseLong(matcher.group(1)));
+        assertTrue(Long.parseLong(matcher.group(1)) > 0);
+    }
+
+    @Test
+    void recordsPerEndpointHistograms() throws Exception {
+        mockMvc.perform(get("/api/transactions").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("http.server.db.statements")
+                .tags("method", "GET", "uri", "/api/transactions").summary();
+        Timer databaseTime = meterRegistry.get("http.server.db.time")
+                .tags("method", "GET", "uri", "/api/transactions").timer();
+        Timer hydrationTime = meterRegistry.get("http.server.hydration.time")
+                .tags("method", "GET", "uri", "/api/transactions").timer();
+
+        assertTrue(statements.count() > 0);
+        assertTrue(statements.max() > 0);
+        assertTrue(databaseTime.max(TimeUnit.NANOSECONDS) > 0);
+        assertTrue(hydrationTime.count() > 0);
+    }
+
+    @Test
+    void poolIsStillReachableThroughTheWrapper() throws Exception {
+        assertTrue(dataSource.isWrapperFor(HikariDataSource.class));
+    }
+}
@@ -0,0 +1,86 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.service.JwtService;
+import com.myfintrack.myfintrack.service.UserDetailsImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "cache.responses.enabled=false"
+})
+@AutoConfigureMockMvc
+class PrincipalResolutionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("principal");
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void tokenCarriesTheUserId() {
+        String token = jwtService.generateToken(new UserDetailsImpl(user));
+        assertEquals(user.getId(), jwtService.extractUserId(token));
+    }
+
+    @Test
+    void warmRequestsDoNotLoadTheUser() throws Exception {
+        String bearer = testUsers.bearer(user);
+        String[] urls = { "/api/dashboard/summary", "/api/budgets", "/api/budgets/summary", "/api/transactions" };
+        for (String url : urls) {
+            mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(status().isOk());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        for (String url : urls) {
+            mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(status().isOk());
+        }
+
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void tokenForAnotherAccountIdIsRejected() throws Exception {
+        String forged = jwtService.generateToken(
+                Map.of(JwtService.USER_ID_CLAIM, user.getId() + 1_000_000), new UserDetailsImpl(user));
+
+        mockMvc.perform(get("/api/transactions").header(HttpHeaders.AUTHORIZATION, "Bearer " + forged))
+                .andExpect(status().is4xxClientError());
+    }
+}
@@ -0,0 +1,106 @@
+package com.myfintrack.myfintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * List endpoints read DTOs directly: a page spanning every category costs
+ * the same one or two statements as a page of a single category, and no
+ * entity is loaded.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ProjectionReadPathTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private String bearer;
+    private List<Category> categories;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("projection");
+        bearer = testUsers.bearer(user);
+        categories = categoryRepository.findAll();
+        for (int i = 0; i < categories.size() * 2; i++) {
+            Category category = categories.get(i % categories.size());
+            jdbcTemplate.update("INSERT INTO transactions (user_id, category_id, type, amount, description, "
+                            + "transaction_date, created_at, updated_at, deleted_at) "
+                            + "VALUES (?, ?, ?, 1000, ?, ?, now(), now(), CASE WHEN ? THEN now() END)",
+                    user.getId(), category.getId(), category.getType().name(), "Row " + i,
+                    Date.valueOf(LocalDate.now().minusDays(i)), i % 2 == 1);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void listEndpointsDoNotHydrateEntities() throws Exception {
+        // Warm the principal cache so only the listing itself is counted
+        fetch("/api/transactions?size=1");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (String url : new String[] { "/api/transactions?size=100", "/api/transactions?size=100&cursor=",
+                "/api/transactions/deleted?size=100" }) {
+            statistics.clear();
+            JsonNode content = fetch(url).get("content");
+
+            assertEquals(categories.size(), content.size(), url);
+            assertTrue(statistics.getPrepareStatementCount() <= 2, url + ": " + statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount(), url);
+            JsonNode first = content.get(0);
+            assertFalse(first.get("categoryName").isNull(), url);
+            assertFalse(first.get("categoryColor").isNull(), url);
+        }
+    }
+
+    private JsonNode fetch(String url) throws Exception {
+        String body = mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("data");
+    }
+}
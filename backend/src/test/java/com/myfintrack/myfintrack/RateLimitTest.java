@@ -0,0 +1,89 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "rate-limit.api.limit=5",
+        "rate-limit.api.window=PT1H",
+        "rate-limit.auth.limit=3",
+        "rate-limit.auth.window=PT1H"
+})
+@AutoConfigureMockMvc
+class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 2; i++) {
+            users.add(testUsers.create("rate-limit-" + i));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void usersHaveSeparateBudgets() throws Exception {
+        String abusive = testUsers.bearer(users.get(0));
+        for (int remaining = 4; remaining >= 0; remaining--) {
+            mockMvc.perform(get("/api/budgets").header(HttpHeaders.AUTHORIZATION, abusive))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("RateLimit-Limit", "5"))
+                    .andExpect(header().string("RateLimit-Remaining", String.valueOf(remaining)))
+                    .andExpect(header().string("RateLimit-Policy", "5;w=3600"));
+        }
+
+        mockMvc.perform(get("/api/budgets").header(HttpHeaders.AUTHORIZATION, abusive))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(header().string("RateLimit-Remaining", "0"));
+
+        mockMvc.perform(get("/api/budgets").header(HttpHeaders.AUTHORIZATION, testUsers.bearer(users.get(1))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void authEndpointsAreLimitedPerAddress() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/auth/refresh-token").with(request -> {
+                request.setRemoteAddr("192.0.2.7");
+                return request;
+            })).andExpect(status().isForbidden());
+        }
+
+        mockMvc.perform(post("/api/auth/refresh-token").with(request -> {
+            request.setRemoteAddr("192.0.2.7");
+            return request;
+        })).andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(post("/api/auth/refresh-token").with(request -> {
+            request.setRemoteAddr("192.0.2.8");
+            return request;
+        })).andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,99 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.service.RefreshTokenPurgeService;
+import com.myfintrack.myfintrack.service.RefreshTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "security.refresh-tokens.purge.initial-delay=PT1H",
+        "security.refresh-tokens.purge.batch-size=10",
+        "security.refresh-tokens.purge.pause=1ms",
+        "security.refresh-tokens.max-live-per-user=3"
+})
+class RefreshTokenPurgeTest {
+
+    @Autowired
+    private RefreshTokenPurgeService purgeService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("purge");
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void purgeDeletesExpiredAndOldRevokedTokensInChunks() {
+        Instant now = Instant.now();
+        for (int i = 0; i < 25; i++) {
+            insert(now.minus(Duration.ofDays(1)), false, null);
+        }
+        insert(now.plus(Duration.ofDays(3)), true, now.minus(Duration.ofDays(2)));
+        insert(now.plus(Duration.ofDays(3)), true, now.minus(Duration.ofMinutes(5)));
+        insert(now.plus(Duration.ofDays(3)), false, null);
+        double expiredBefore = purged("expired");
+
+        purgeService.purge();
+
+        // The recently revoked token stays for reuse detection; the live one stays
+        assertEquals(2, count("user_id = ?"));
+        assertEquals(1, count("user_id = ? AND revoked = true"));
+        assertTrue(purged("expired") - expiredBefore >= 25);
+        assertTrue(meterRegistry.get("refresh_tokens.purge.chunk").timer().count() >= 3);
+    }
+
+    @Test
+    void loginsBeyondTheCapEvictTheOldestLiveTokens() {
+        for (int i = 0; i < 5; i++) {
+            refreshTokenService.createRefreshToken(user.getId());
+        }
+
+        assertEquals(3, count("user_id = ? AND revoked = false"));
+    }
+
+    private void insert(Instant expiry, boolean revoked, Instant revokedAt) {
+        jdbcTemplate.update("INSERT INTO refresh_tokens (token, user_id, family_id, expiry_date, revoked, revoked_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                UUID.randomUUID().toString(), user.getId(), UUID.randomUUID(), Timestamp.from(expiry), revoked,
+                revokedAt == null ? null : Timestamp.from(revokedAt));
+    }
+
+    private long count(String where) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens WHERE " + where, Long.class, user.getId());
+    }
+
+    private double purged(String reason) {
+        return meterRegistry.get("refresh_tokens.purged").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,131 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.service.JwtService;
+import com.myfintrack.myfintrack.service.RefreshTokenService;
+import com.myfintrack.myfintrack.util.Digests;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class RefreshTokenRotationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("refresh");
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void onlyTheHashIsStored() {
+        String token = refreshTokenService.createRefreshToken(user.getId()).token();
+
+        String stored = jdbcTemplate.queryForObject(
+                "SELECT token FROM refresh_tokens WHERE user_id = ?", String.class, user.getId());
+        assertEquals(Digests.sha256Hex(token), stored);
+        assertNotEquals(token, stored);
+    }
+
+    @Test
+    void refreshRotatesTheToken() throws Exception {
+        String first = refreshTokenService.createRefreshToken(user.getId()).token();
+
+        MvcResult result = refresh(first).andExpect(status().isOk()).andReturn();
+        Cookie next = result.getResponse().getCookie("refreshToken");
+
+        assertNotNull(next);
+        assertNotEquals(first, next.getValue());
+        String accessToken = com.jayway.jsonpath.JsonPath.read(
+                result.getResponse().getContentAsString(), "$.data.accessToken");
+        assertEquals(user.getId(), jwtService.validate(accessToken).userId());
+
+        refresh(next.getValue()).andExpect(status().isOk());
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheFamily() throws Exception {
+        String first = refreshTokenService.createRefreshToken(user.getId()).token();
+        String second = refreshTokenService.rotate(first).next().token();
+
+        refresh(first).andExpect(status().isUnauthorized());
+        // The legitimate successor dies with its family
+        refresh(second).andExpect(status().isUnauthorized());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE user_id = ? AND revoked = false", Long.class, user.getId()));
+
+        // Further replays are answered from memory
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        refresh(first).andExpect(status().isUnauthorized());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void inactiveAccountIsRefusedWithoutConsumingTheToken() throws Exception {
+        String token = refreshTokenService.createRefreshToken(user.getId()).token();
+
+        jdbcTemplate.update("UPDATE users SET enabled = false WHERE id = ?", user.getId());
+        refresh(token).andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Account is disabled."));
+        jdbcTemplate.update("UPDATE users SET enabled = true, lock_time = now() WHERE id = ?", user.getId());
+        refresh(token).andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value(containsString("locked")));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE user_id = ? AND revoked = false", Long.class, user.getId()));
+
+        // Once the account is usable again the same token still works, with no reuse alarm
+        jdbcTemplate.update("UPDATE users SET lock_time = NULL WHERE id = ?", user.getId());
+        refresh(token).andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownTokenIsRejected() throws Exception {
+        refresh("not-a-token").andExpect(status().isUnauthorized());
+    }
+
+    private org.springframework.test.web.servlet.ResultActions refresh(String token) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh-token").cookie(new Cookie("refreshToken", token)));
+    }
+}
@@ -0,0 +1,161 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.BudgetRequest;
+import com.myfintrack.myfintrack.dto.request.TransactionRequest;
+import com.myfintrack.myfintrack.dto.response.BudgetSummaryResponse;
+import com.myfintrack.myfintrack.dto.response.DashboardResponse;
+import com.myfintrack.myfintrack.dto.response.TransactionResponse;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.service.BudgetService;
+import com.myfintrack.myfintrack.service.DashboardService;
+import com.myfintrack.myfintrack.service.TransactionService;
+import com.myfintrack.myfintrack.service.UserBalanceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Invalidation happens after commit, so this test commits its writes and
+ * cleans up afterwards instead of rolling back.
+ */
+@SpringBootTest
+class ResponseCacheTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserBalanceService userBalanceService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Category food;
+    private final LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+    private final LocalDate threeMonthsAgo = thisMonth.minusMonths(3);
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("response-cache");
+        food = categoryRepository.findByType(Category.TransactionType.EXPENSE).get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void repeatLoadsAreServedFromCache() {
+        transactionService.createTransaction(user, expense(50_000, thisMonth));
+        double hitsBefore = hits("dashboard");
+
+        DashboardResponse first = dashboard(thisMonth);
+        DashboardResponse second = dashboard(thisMonth);
+
+        assertSame(first, second);
+        assertEquals(hitsBefore + 1, hits("dashboard"));
+    }
+
+    @Test
+    void backdatedEditRefreshesOldAndCurrentMonths() {
+        TransactionResponse tx = transactionService.createTransaction(user, expense(50_000, thisMonth));
+        DashboardResponse currentBefore = dashboard(thisMonth);
+        DashboardResponse oldBefore = dashboard(threeMonthsAgo);
+        BudgetSummaryResponse oldSummaryBefore = summary(threeMonthsAgo);
+        assertEquals(0, oldBefore.getTotalExpense().signum());
+
+        transactionService.updateTransaction(user, tx.getId(), expense(80_000, threeMonthsAgo));
+
+        DashboardResponse currentAfter = dashboard(thisMonth);
+        DashboardResponse oldAfter = dashboard(threeMonthsAgo);
+        assertNotSame(currentBefore, currentAfter);
+        assertEquals(0, currentAfter.getTotalExpense().signum());
+        assertEquals(0, BigDecimal.valueOf(-80_000).compareTo(currentAfter.getCurrentBalance()));
+        assertEquals(0, BigDecimal.valueOf(80_000).compareTo(oldAfter.getTotalExpense()));
+        assertEquals(0, BigDecimal.valueOf(80_000).compareTo(
+                currentAfter.getMonthlyTrend().get(2).getExpense()), "Trend includes the backdated month");
+
+        BudgetSummaryResponse oldSummaryAfter = summary(threeMonthsAgo);
+        assertNotSame(oldSummaryBefore, oldSummaryAfter);
+        assertEquals(0, BigDecimal.valueOf(80_000).compareTo(oldSummaryAfter.getTotalUnbudgetedSpent()));
+    }
+
+    @Test
+    void budgetChangesRefreshSummary() {
+        transactionService.createTransaction(user, expense(50_000, thisMonth));
+        BudgetSummaryResponse before = summary(thisMonth);
+        assertEquals(0, BigDecimal.valueOf(50_000).compareTo(before.getTotalUnbudgetedSpent()));
+
+        BudgetRequest budget = new BudgetRequest();
+        budget.setCategoryId(food.getId());
+        budget.setMonthlyLimit(BigDecimal.valueOf(200_000));
+        budget.setMonth(thisMonth.getMonthValue());
+        budget.setYear(thisMonth.getYear());
+        budgetService.createBudget(user, budget);
+
+        BudgetSummaryResponse after = summary(thisMonth);
+        assertEquals(0, after.getTotalUnbudgetedSpent().signum());
+        assertEquals(0, BigDecimal.valueOf(200_000).compareTo(after.getTotalAllocated()));
+        assertEquals(1, dashboard(thisMonth).getBudgetProgress().size());
+    }
+
+    @Test
+    void balanceRepairRefreshesCachedDashboard() {
+        transactionService.createTransaction(user, expense(50_000, thisMonth));
+        jdbcTemplate.update("UPDATE user_balances SET balance = 999 WHERE user_id = ?", user.getId());
+        DashboardResponse drifted = dashboard(thisMonth);
+        assertEquals(0, BigDecimal.valueOf(999).compareTo(drifted.getCurrentBalance()));
+
+        userBalanceService.reconcile();
+
+        DashboardResponse repaired = dashboard(thisMonth);
+        assertNotSame(drifted, repaired);
+        assertEquals(0, BigDecimal.valueOf(-50_000).compareTo(repaired.getCurrentBalance()));
+    }
+
+    private TransactionRequest expense(long amount, LocalDate date) {
+        return new TransactionRequest(food.getId(), Category.TransactionType.EXPENSE,
+                BigDecimal.valueOf(amount), "Cached", date);
+    }
+
+    private DashboardResponse dashboard(LocalDate month) {
+        return dashboardService.getDashboardSummary(user, month.getMonthValue(), month.getYear());
+    }
+
+    private BudgetSummaryResponse summary(LocalDate month) {
+        return budgetService.getEnvelopeSummary(user, month.getMonthValue(), month.getYear());
+    }
+
+    private double hits(String cache) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", "hit")
+                .functionCounter().count();
+    }
+}
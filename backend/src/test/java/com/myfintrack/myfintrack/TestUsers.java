@@ -0,0 +1,61 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.UserRepository;
+import com.myfintrack.myfintrack.service.JwtService;
+import com.myfintrack.myfintrack.service.UserDetailsImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throwaway users for tests that commit their writes. Each user gets a unique
+ * {@code <prefix>-<nanos>@test.local} email; {@link #deleteCreated()} removes
+ * every user made since the last call together with everything that refers to
+ * them, including the rollup and balance rows, which have no foreign key.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestUsers {
+
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Long> created = new ArrayList<>();
+
+    public User create(String prefix) {
+        return create(prefix, "x");
+    }
+
+    /** A user whose stored password hash is {@code encodedPassword}. */
+    public synchronized User create(String prefix, String encodedPassword) {
+        User user = userRepository.save(User.builder()
+                .email(prefix + "-" + System.nanoTime() + "@test.local")
+                .password(encodedPassword)
+                .fullName(prefix)
+                .enabled(true)
+                .build());
+        created.add(user.getId());
+        return user;
+    }
+
+    /** An Authorization header value for {@code user}. */
+    public String bearer(User user) {
+        return "Bearer " + jwtService.generateToken(new UserDetailsImpl(user));
+    }
+
+    public synchronized void deleteCreated() {
+        for (Long id : created) {
+            jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id = ?", id);
+            jdbcTemplate.update("DELETE FROM budgets WHERE user_id = ?", id);
+            jdbcTemplate.update("DELETE FROM transactions WHERE user_id = ?", id);
+            jdbcTemplate.update("DELETE FROM transaction_monthly_rollup WHERE user_id = ?", id);
+            jdbcTemplate.update("DELETE FROM user_balances WHERE user_id = ?", id);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", id);
+        }
+        created.clear();
+    }
+}
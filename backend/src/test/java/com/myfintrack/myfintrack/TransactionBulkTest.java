@@ -0,0 +1,219 @@
+package com.myfintrack.myfintrack;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfintrack.myfintrack.dto.request.BulkTransactionRequest;
+import com.myfintrack.myfintrack.dto.request.TransactionFilter;
+import com.myfintrack.myfintrack.dto.request.TransactionRequest;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.repository.TransactionMonthlyRollupRepository;
+import com.myfintrack.myfintrack.repository.UserBalanceRepository;
+import com.myfintrack.myfintrack.service.TransactionBulkService;
+import com.myfintrack.myfintrack.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionBulkTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 5, 20);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionBulkService transactionBulkService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private User other;
+    private Category food;
+    private Category transport;
+    private Category salary;
+    private final List<Long> coffees = new ArrayList<>();
+    private Long othersCoffee;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("bulk");
+        other = testUsers.create("bulk-other");
+        List<Category> expenses = categoryRepository.findByType(Category.TransactionType.EXPENSE);
+        food = expenses.get(0);
+        transport = expenses.get(1);
+        salary = categoryRepository.findByType(Category.TransactionType.INCOME).get(0);
+
+        for (int i = 0; i < 5; i++) {
+            // Spread over two months so more than one rollup bucket moves
+            coffees.add(create(user, food, "1000", "Coffee " + i, DAY.minusDays(i * 10L)));
+        }
+        create(user, salary, "9000000", "Salary", DAY);
+        othersCoffee = create(other, food, "1000", "Coffee", DAY);
+        // Several chunks even for these few rows
+        ReflectionTestUtils.setField(transactionBulkService, "chunkSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(transactionBulkService, "chunkSize", 1000);
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void deleteAndRestoreByIdsOnlyTouchOwnRowsInTheRightState() {
+        List<Long> ids = new ArrayList<>(coffees.subList(0, 3));
+        ids.add(othersCoffee);
+        ids.add(coffees.get(0));
+        ids.add(Long.MAX_VALUE);
+
+        assertEquals(3, transactionBulkService.delete(user, byIds(ids)).getAffected());
+        assertEquals(0, transactionBulkService.delete(user, byIds(ids)).getAffected());
+        assertEquals(3, countDeleted(user));
+        assertEquals(0, countDeleted(other));
+        assertBalance("8998000");
+        assertNoDrift();
+
+        assertEquals(3, transactionBulkService.restore(user, byIds(ids)).getAffected());
+        assertEquals(0, countDeleted(user));
+        assertBalance("8995000");
+        assertNoDrift();
+    }
+
+    @Test
+    void recategorizeByFilterMovesBucketsAndBalance() {
+        BulkTransactionRequest coffeeFilter = byFilter(TransactionFilter.builder().description("coffee").build());
+        coffeeFilter.setCategoryId(transport.getId());
+        assertEquals(5, transactionBulkService.recategorize(user, coffeeFilter).getAffected());
+        assertEquals(0, transactionBulkService.recategorize(user, coffeeFilter).getAffected());
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ? "
+                + "AND category_id = ? AND type = 'EXPENSE'", Long.class, user.getId(), transport.getId()));
+        assertBalance("8995000");
+        assertNoDrift();
+
+        // Moving to an income category flips the type, and the balance with it
+        coffeeFilter.setCategoryId(salary.getId());
+        assertEquals(5, transactionBulkService.recategorize(user, coffeeFilter).getAffected());
+        assertBalance("9005000");
+        assertNoDrift();
+        assertEquals("EXPENSE", jdbcTemplate.queryForObject(
+                "SELECT type FROM transactions WHERE id = ?", String.class, othersCoffee));
+    }
+
+    @Test
+    void purgeRemovesLiveAndSoftDeletedRows() {
+        transactionService.deleteTransaction(user, coffees.get(0));
+        assertEquals(2, transactionBulkService.purge(user, byIds(List.of(coffees.get(0), coffees.get(1), othersCoffee)))
+                .getAffected());
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE user_id = ?", Long.class, user.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE id = ?", Long.class, othersCoffee));
+        assertBalance("8997000");
+        assertNoDrift();
+    }
+
+    @Test
+    void endpointsReportCountsAndRejectVagueSelections() throws Exception {
+        String bearer = testUsers.bearer(user);
+        BulkTransactionRequest byDate = byFilter(TransactionFilter.builder().startDate(DAY.minusDays(15)).build());
+        mockMvc.perform(post("/api/transactions/bulk/delete")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(byDate)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.affected").value(3));
+
+        List<BulkTransactionRequest> vague = List.of(
+                new BulkTransactionRequest(),
+                new BulkTransactionRequest(coffees, new TransactionFilter(), null),
+                byIds(List.of()),
+                byFilter(new TransactionFilter()),
+                byFilter(TransactionFilter.builder().startDate(DAY).endDate(DAY.minusDays(1)).build()));
+        for (BulkTransactionRequest request : vague) {
+            mockMvc.perform(post("/api/transactions/bulk/purge")
+                            .header(HttpHeaders.AUTHORIZATION, bearer)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(post("/api/transactions/bulk/recategorize")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(byIds(coffees))))
+                .andExpect(status().isBadRequest());
+        assertEquals(6, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE user_id = ?", Long.class, user.getId()));
+    }
+
+    private static BulkTransactionRequest byIds(List<Long> ids) {
+        return BulkTransactionRequest.builder().ids(ids).build();
+    }
+
+    private static BulkTransactionRequest byFilter(TransactionFilter filter) {
+        return BulkTransactionRequest.builder().filter(filter).build();
+    }
+
+    private long countDeleted(User owner) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ? AND deleted_at IS NOT NULL",
+                Long.class, owner.getId());
+    }
+
+    private void assertBalance(String expected) {
+        assertEquals(0, new BigDecimal(expected).compareTo(
+                userBalanceRepository.findBalanceByUserId(user.getId()).orElseThrow()));
+    }
+
+    /** Rollup buckets and balance snapshots match a full recount for both users. */
+    private void assertNoDrift() {
+        List<Long> users = List.of(user.getId(), other.getId());
+        assertTrue(rollupRepository.findDrift().stream()
+                .noneMatch(row -> users.contains(((Number) row[0]).longValue())));
+        assertTrue(userBalanceRepository.findDrift().stream()
+                .noneMatch(row -> users.contains(((Number) row[0]).longValue())));
+    }
+
+    private Long create(User owner, Category category, String amount, String description, LocalDate date) {
+        return transactionService.createTransaction(owner, new TransactionRequest(
+                category.getId(), null, new BigDecimal(amount), description, date)).getId();
+    }
+}
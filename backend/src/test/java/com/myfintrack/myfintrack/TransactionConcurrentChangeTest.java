@@ -0,0 +1,180 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.BulkTransactionRequest;
+import com.myfintrack.myfintrack.dto.request.TransactionRequest;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.exception.BadRequestException;
+import com.myfintrack.myfintrack.exception.ResourceNotFoundException;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.repository.TransactionMonthlyRollupRepository;
+import com.myfintrack.myfintrack.repository.UserBalanceRepository;
+import com.myfintrack.myfintrack.service.TransactionBulkService;
+import com.myfintrack.myfintrack.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two writers on the same row: the second must wait for the first and then
+ * see its result, so the row's delta reaches the rollup and balance once.
+ */
+@SpringBootTest
+class TransactionConcurrentChangeTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 10);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionBulkService transactionBulkService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Category food;
+    private Long coffee;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("concurrent");
+        food = categoryRepository.findByType(Category.TransactionType.EXPENSE).get(0);
+        Category salary = categoryRepository.findByType(Category.TransactionType.INCOME).get(0);
+        transactionService.createTransaction(user, new TransactionRequest(
+                salary.getId(), null, new BigDecimal("1000.00"), "Salary", DAY));
+        coffee = transactionService.createTransaction(user, new TransactionRequest(
+                food.getId(), null, new BigDecimal("30.00"), "Coffee", DAY)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void concurrentDeletesOfOneRowApplyItsDeltaOnce() throws Exception {
+        CompletableFuture<Object> second = whileUncommitted(this::deleteCoffee, () -> {
+            deleteCoffee();
+            return null;
+        });
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(ResourceNotFoundException.class, failure.getCause());
+        assertAggregates("0.00", 0, "1000.00");
+    }
+
+    @Test
+    void singleDeleteRacingABulkDeleteFindsNothingLeft() throws Exception {
+        CompletableFuture<Object> second = whileUncommitted(
+                () -> assertEquals(1, transactionBulkService.delete(
+                        user, BulkTransactionRequest.builder().ids(List.of(coffee)).build()).getAffected()),
+                () -> {
+                    deleteCoffee();
+                    return null;
+                });
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(ResourceNotFoundException.class, failure.getCause());
+        assertAggregates("0.00", 0, "1000.00");
+    }
+
+    @Test
+    void concurrentRestoresOfOneRowApplyItsDeltaOnce() throws Exception {
+        deleteCoffee();
+        CompletableFuture<Object> second = whileUncommitted(this::restoreCoffee, () -> {
+            restoreCoffee();
+            return null;
+        });
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(BadRequestException.class, failure.getCause());
+        assertAggregates("30.00", 1, "970.00");
+    }
+
+    /**
+     * Run {@code first} in a transaction that stays open until {@code competitor}
+     * has had time to reach the database, then commit and return the competitor's outcome.
+     */
+    private <T> CompletableFuture<T> whileUncommitted(Runnable first, Supplier<T> competitor) throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    first.run();
+                    done.countDown();
+                    await(release);
+                }));
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<T> second = CompletableFuture.supplyAsync(competitor);
+        // Give the competitor time to block on the row before the first one commits
+        Thread.sleep(300);
+        assertFalse(second.isDone(), "The second writer must wait for the first one's row lock");
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+        return second;
+    }
+
+    private void deleteCoffee() {
+        transactionService.deleteTransaction(user, coffee);
+    }
+
+    private void restoreCoffee() {
+        transactionService.restoreTransaction(user, coffee);
+    }
+
+    private void assertAggregates(String foodTotal, long foodCount, String balance) {
+        Object[] bucket = jdbcTemplate.queryForObject("SELECT total_amount, transaction_count "
+                        + "FROM transaction_monthly_rollup WHERE user_id = ? AND category_id = ? AND year = ? AND month = ?",
+                (rs, i) -> new Object[]{rs.getBigDecimal(1), rs.getLong(2)},
+                user.getId(), food.getId(), DAY.getYear(), DAY.getMonthValue());
+        assertEquals(0, new BigDecimal(foodTotal).compareTo((BigDecimal) bucket[0]));
+        assertEquals(foodCount, bucket[1]);
+        assertEquals(0, new BigDecimal(balance).compareTo(
+                userBalanceRepository.findBalanceByUserId(user.getId()).orElseThrow()));
+        assertTrue(rollupRepository.findDrift().stream()
+                .noneMatch(row -> ((Number) row[0]).longValue() == user.getId()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.TransactionFilter;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.service.TransactionExportService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heap use while exporting one user's whole history: 1M rows by default,
+ * exported at full size and at a tenth of it, so flat memory shows as equal
+ * peaks. Slow, so only runs on request:
+ *
+ * <pre>
+ * mvn test -Dtest=TransactionExportLoadTest -Dloadtest=true [-Dloadtest.rows=1000000]
+ * </pre>
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class TransactionExportLoadTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2015, 1, 1);
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private long rows;
+
+    @BeforeAll
+    void seed() {
+        rows = Long.getLong("loadtest.rows", 1_000_000L);
+        user = testUsers.create("export-load");
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO transactions (user_id, category_id, type, amount, description, "
+                + "transaction_date, created_at, updated_at) "
+                + "SELECT ?, (SELECT MIN(id) FROM categories WHERE type = 'EXPENSE'), 'EXPENSE', "
+                + "(g * 7919 % 200000) / 100.0 + 1, 'Export row ' || g || ', ' || md5(g::text), "
+                + "DATE '" + FIRST_DAY + "' + (g * 3650 / ?)::int, now(), now() "
+                + "FROM generate_series(0, ? - 1) g", user.getId(), rows, rows);
+        jdbcTemplate.execute("ANALYZE transactions");
+        System.out.printf("📦 seeded %d rows in %.1f s%n", rows, (System.nanoTime() - start) / 1e9);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void heapStaysFlatWhateverTheSize() throws Exception {
+        TransactionFilter tenth = TransactionFilter.builder()
+                .startDate(FIRST_DAY)
+                .endDate(FIRST_DAY.plusDays(364))
+                .build();
+        for (TransactionExportService.Format format : TransactionExportService.Format.values()) {
+            run(format, "1/10", tenth);
+            run(format, "all", new TransactionFilter());
+        }
+    }
+
+    private void run(TransactionExportService.Format format, String label, TransactionFilter filter) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        CountingOutputStream out = new CountingOutputStream();
+
+        sampler.start();
+        long start = System.nanoTime();
+        transactionExportService.export(user, filter, format, out);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        sampler.interrupt();
+        sampler.join();
+
+        // Peak includes garbage not yet collected; what matters is that it does not scale with rows
+        System.out.printf("📊 %-6s %-4s %7.1f MB in %5.1f s (%6.1f MB/s)  peak heap above baseline %5.1f MB%n",
+                format, label, out.bytes / 1e6, seconds, out.bytes / 1e6 / seconds, (peak.get() - baseline) / 1e6);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.myfintrack.myfintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfintrack.myfintrack.dto.request.TransactionFilter;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.repository.TransactionQueryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Heap use on a large export: TransactionExportLoadTest.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionExportTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionQueryRepository transactionQueryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private User other;
+    private String bearer;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("export");
+        other = testUsers.create("export-other");
+        bearer = testUsers.bearer(user);
+        food = categoryRepository.findByType(Category.TransactionType.EXPENSE).get(0);
+
+        insert(user, "Before the range", DAY.minusDays(1), false);
+        insert(user, "Lunch, with \"friends\"", DAY.plusDays(2), false);
+        insert(user, "Groceries", DAY, false);
+        insert(user, "Two\nlines", DAY.plusDays(2), false);
+        insert(user, "Deleted", DAY, true);
+        insert(user, "After the range", DAY.plusDays(31), false);
+        insert(other, "Someone else", DAY, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void csvHasOwnLiveRowsInRangeOldestFirst() throws Exception {
+        MvcResult result = export("csv");
+        assertEquals("text/csv;charset=UTF-8", result.getResponse().getContentType());
+        assertEquals("attachment; filename=\"transactions.csv\"",
+                result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION));
+
+        String csv = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String[] lines = csv.split("\r\n");
+        assertEquals("id,transactionDate,type,categoryId,categoryName,amount,description", lines[0]);
+        assertEquals(4, lines.length, csv);
+        String[] first = lines[1].split(",", 5);
+        assertEquals(List.of(DAY.toString(), "EXPENSE", food.getId().toString()), List.of(first[1], first[2], first[3]));
+        assertTrue(lines[1].endsWith(",1000.00,Groceries"), lines[1]);
+        assertTrue(lines[2].endsWith(",\"Lunch, with \"\"friends\"\"\""), lines[2]);
+        assertTrue(lines[3].endsWith(",\"Two\nlines\""), lines[3]);
+    }
+
+    @Test
+    void ndjsonHasOneTransactionPerLine() throws Exception {
+        MvcResult result = export("ndjson");
+        assertEquals("application/x-ndjson", result.getResponse().getContentType());
+
+        String ndjson = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(ndjson.endsWith("\n"));
+        List<String> descriptions = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            JsonNode row = objectMapper.readTree(line);
+            assertEquals(food.getName(), row.get("categoryName").asText());
+            descriptions.add(row.get("description").asText());
+        }
+        assertEquals(List.of("Groceries", "Lunch, with \"friends\"", "Two\nlines"), descriptions);
+    }
+
+    @Test
+    void badRequestsFailBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/api/transactions/export").param("format", "xlsx")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/transactions/export").param("startDate", "2025-03-10").param("endDate", "2025-03-01")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rowsAreReadThroughAServerSideCursor() {
+        List<Long> openCursors = new ArrayList<>();
+        long rows = transactionTemplate.execute(status -> transactionQueryRepository.forEach(
+                user.getId(), new TransactionFilter(), 2, row -> openCursors.add(
+                        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_cursors", Long.class))));
+        assertEquals(5, rows);
+        // The portal stays open while rows are consumed, instead of the whole result arriving at once
+        assertTrue(openCursors.stream().allMatch(count -> count > 0), openCursors.toString());
+    }
+
+    private MvcResult export(String format) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/transactions/export")
+                        .param("format", format)
+                        .param("startDate", DAY.toString())
+                        .param("endDate", DAY.plusDays(30).toString())
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.CONTENT_DISPOSITION))
+                .andReturn();
+    }
+
+    private void insert(User owner, String description, LocalDate date, boolean deleted) {
+        jdbcTemplate.update("INSERT INTO transactions (user_id, category_id, type, amount, description, "
+                        + "transaction_date, created_at, updated_at, deleted_at) "
+                        + "VALUES (?, ?, 'EXPENSE', 1000, ?, ?, now(), now(), CASE WHEN ? THEN now() END)",
+                owner.getId(), food.getId(), description, date, deleted);
+    }
+}
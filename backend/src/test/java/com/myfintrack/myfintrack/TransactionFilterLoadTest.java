@@ -0,0 +1,138 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.TransactionFilter;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.repository.TransactionQueryRepository;
+import com.myfintrack.myfintrack.util.TransactionCursor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Latency of each filter combination against a large table: 10M rows spread
+ * over 1,000 users by default. Slow (seeding alone takes minutes), so only
+ * runs on request:
+ *
+ * <pre>
+ * mvn test -Dtest=TransactionFilterLoadTest -Dloadtest=true [-Dloadtest.rows=10000000]
+ * </pre>
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class TransactionFilterLoadTest {
+
+    private static final int ROWS_PER_USER = 10_000;
+    private static final int RUNS = 30;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+
+    @Autowired
+    private TransactionQueryRepository transactionQueryRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String emailPrefix = "filter-load-" + System.nanoTime() + "-";
+    private long userId;
+
+    @BeforeAll
+    void seed() {
+        long rows = Long.getLong("loadtest.rows", 10_000_000L);
+        long users = Math.max(rows / ROWS_PER_USER, 1);
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO users (email, password, full_name, enabled, failed_attempts, created_at, updated_at) "
+                + "SELECT ? || g || '@test.local', 'x', 'Filter Load', true, 0, now(), now() "
+                + "FROM generate_series(1, ?) g", emailPrefix, users);
+        jdbcTemplate.update("CREATE TEMPORARY TABLE filter_load_users AS "
+                + "SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n FROM users WHERE email LIKE ? || '%'", emailPrefix);
+        // Three years of history per user, every category, amounts from 1 to 2,000
+        jdbcTemplate.update("INSERT INTO transactions (user_id, category_id, type, amount, description, "
+                + "transaction_date, created_at, updated_at) "
+                + "SELECT u.id, c.id, c.type, (g * 7919 % 200000) / 100.0 + 1, 'Load ' || (g % 500), "
+                + "DATE '" + FIRST_DAY + "' + (g / ? % 1095)::int, now(), now() "
+                + "FROM generate_series(0, ? - 1) g "
+                + "JOIN filter_load_users u ON u.n = g % ? "
+                + "JOIN (SELECT id, type, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n, COUNT(*) OVER () AS total "
+                + "FROM categories) c ON c.n = (g / ?) % c.total", users, rows, users, users);
+        jdbcTemplate.execute("ANALYZE transactions");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM filter_load_users WHERE n = 0", Long.class);
+        System.out.printf("📦 seeded %d rows for %d users in %.1f s%n", rows, users, (System.nanoTime() - start) / 1e9);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE user_id IN (SELECT id FROM users WHERE email LIKE ? || '%')",
+                emailPrefix);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ? || '%'", emailPrefix);
+    }
+
+    @Test
+    void everyCombinationStaysFast() {
+        List<Category> expenses = categoryRepository.findByType(Category.TransactionType.EXPENSE);
+        List<Long> twoCategories = List.of(expenses.get(0).getId(), expenses.get(1).getId());
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+
+        Map<String, TransactionFilter> combinations = new LinkedHashMap<>();
+        combinations.put("none", new TransactionFilter());
+        combinations.put("type", TransactionFilter.builder().type(Category.TransactionType.INCOME).build());
+        combinations.put("category", TransactionFilter.builder().categoryId(twoCategories.subList(0, 1)).build());
+        combinations.put("category set", TransactionFilter.builder().categoryId(twoCategories).build());
+        combinations.put("date range", TransactionFilter.builder().startDate(from).endDate(to).build());
+        combinations.put("amount range", TransactionFilter.builder()
+                .minAmount(BigDecimal.valueOf(100)).maxAmount(BigDecimal.valueOf(120)).build());
+        combinations.put("type + date", TransactionFilter.builder()
+                .type(Category.TransactionType.EXPENSE).startDate(from).endDate(to).build());
+        combinations.put("category set + date", TransactionFilter.builder()
+                .categoryId(twoCategories).startDate(from).endDate(to).build());
+        combinations.put("category set + amount", TransactionFilter.builder()
+                .categoryId(twoCategories).minAmount(BigDecimal.valueOf(500)).build());
+        combinations.put("all but text", TransactionFilter.builder()
+                .type(Category.TransactionType.EXPENSE).categoryId(twoCategories).startDate(from).endDate(to)
+                .minAmount(BigDecimal.valueOf(10)).maxAmount(BigDecimal.valueOf(1_500)).build());
+        combinations.put("description + date", TransactionFilter.builder()
+                .description("load 42").startDate(from).build());
+
+        TransactionCursor deep = new TransactionCursor(LocalDate.of(2024, 1, 1), Long.MAX_VALUE);
+        combinations.forEach((name, filter) -> {
+            double first = p50(() -> transactionQueryRepository.findPage(userId, filter, null, 21));
+            double seek = p50(() -> transactionQueryRepository.findPage(userId, filter, deep, 21));
+            double offset = p50(() -> transactionQueryRepository.findPage(userId, filter, PageRequest.of(50, 20)));
+            System.out.printf("📊 %-22s first=%.2f ms  seek=%.2f ms  page 50 + count=%.2f ms%n",
+                    name, first, seek, offset);
+        });
+    }
+
+    private static double p50(Supplier<?> query) {
+        for (int i = 0; i < 5; i++) {
+            query.get(); // warm-up
+        }
+        List<Double> latencies = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            latencies.add((System.nanoTime() - start) / 1_000_000.0);
+        }
+        Collections.sort(latencies);
+        return latencies.get(RUNS / 2);
+    }
+}
@@ -0,0 +1,98 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.TransactionRequest;
+import com.myfintrack.myfintrack.dto.response.TransactionImportReport;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.service.TransactionImportService;
+import com.myfintrack.myfintrack.service.TransactionService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Import throughput for a migrating user: 50k rows by default, against a few
+ * thousand rows created one by one through TransactionService for comparison.
+ * Slow, so only runs on request:
+ *
+ * <pre>
+ * mvn test -Dtest=TransactionImportLoadTest -Dloadtest=true [-Dloadtest.rows=50000]
+ * </pre>
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class TransactionImportLoadTest {
+
+    private static final int ONE_BY_ONE_ROWS = 2_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2018, 1, 1);
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User user;
+    private List<Category> categories;
+
+    @BeforeAll
+    void setUp() {
+        user = testUsers.create("import-load");
+        categories = categoryRepository.findAll();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void importTakesSecondsNotMinutes() throws Exception {
+        int rows = Integer.getInteger("loadtest.rows", 50_000);
+        StringBuilder csv = new StringBuilder("transactionDate,categoryId,amount,description\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(FIRST_DAY.plusDays(i % 2500)).append(',')
+                    .append(categories.get(i % categories.size()).getId()).append(',')
+                    .append(BigDecimal.valueOf(i * 7919L % 200000 + 100, 2)).append(',')
+                    .append("Imported row ").append(i).append('\n');
+        }
+        byte[] file = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        TransactionImportReport report = transactionImportService.importCsv(user, new ByteArrayInputStream(file), null);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertEquals(rows, report.getImported());
+        System.out.printf("📊 import   %7d rows (%.1f MB) in %6.2f s = %8.0f rows/s%n",
+                rows, file.length / 1e6, seconds, rows / seconds);
+
+        start = System.nanoTime();
+        for (int i = 0; i < ONE_BY_ONE_ROWS; i++) {
+            transactionService.createTransaction(user, new TransactionRequest(
+                    categories.get(i % categories.size()).getId(), null, BigDecimal.TEN, "One by one " + i,
+                    FIRST_DAY.plusDays(i % 2500)));
+        }
+        seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("📊 one by one %5d rows in %6.2f s = %8.0f rows/s (%d rows would take %.0f s)%n",
+                ONE_BY_ONE_ROWS, seconds, ONE_BY_ONE_ROWS / seconds, rows, rows / (ONE_BY_ONE_ROWS / seconds));
+    }
+}
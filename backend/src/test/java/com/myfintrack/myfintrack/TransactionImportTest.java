@@ -0,0 +1,184 @@
+package com.myfintrack.myfintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfintrack.myfintrack.dto.response.TransactionImportReport;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.repository.TransactionMonthlyRollupRepository;
+import com.myfintrack.myfintrack.repository.UserBalanceRepository;
+import com.myfintrack.myfintrack.service.TransactionImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Throughput on a migration-sized file: TransactionImportLoadTest.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private String bearer;
+    private Category food;
+    private Category salary;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("import");
+        bearer = testUsers.bearer(user);
+        food = categoryRepository.findByType(Category.TransactionType.EXPENSE).get(0);
+        salary = categoryRepository.findByType(Category.TransactionType.INCOME).get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void validRowsAreImportedAndTheRestReportedByLine() throws Exception {
+        String csv = "id,transactionDate,type,categoryId,categoryName,amount,description\r\n"
+                + "99,2025-03-10,EXPENSE," + food.getId() + ",,25000.50,\"Lunch, with \"\"friends\"\"\"\r\n"
+                + ",2025-03-11,,," + food.getName().toUpperCase() + ",1000,\"Two\nlines\"\r\n"
+                + ",2025-03-12,INCOME,," + salary.getName() + ",5000000,Salary\r\n"
+                + ",2025-03-12,,,Lainnya,10,Both types have this name\r\n"
+                + ",2025-03-13,,999999,,10,Unknown category\r\n"
+                + ",2999-01-01,," + food.getId() + ",,10,Future\r\n"
+                + ",2025-03-13,INCOME," + food.getId() + ",,10,Wrong type\r\n"
+                + ",2025-03-13,," + food.getId() + ",,-5,Negative\r\n"
+                + ",2025-03-13,," + food.getId() + ",,1.234,Three decimals\r\n"
+                + ",13/03/2025,," + food.getId() + ",,10,Not ISO\r\n";
+
+        JsonNode report = upload(csv, null, status().isOk()).get("data");
+        assertEquals(3, report.get("imported").asLong());
+        assertEquals(7, report.get("failed").asLong());
+        List<Long> lines = new ArrayList<>();
+        report.get("errors").forEach(error -> lines.add(error.get("line").asLong()));
+        assertEquals(List.of(6L, 7L, 8L, 9L, 10L, 11L, 12L), lines);
+        assertTrue(report.get("errors").get(0).get("message").asText().contains("add a type column"));
+
+        assertEquals(List.of("Lunch, with \"friends\"", "Two\nlines", "Salary"), jdbcTemplate.queryForList(
+                "SELECT description FROM transactions WHERE user_id = ? ORDER BY transaction_date",
+                String.class, user.getId()));
+        assertEquals(0, new BigDecimal("4973999.50").compareTo(
+                userBalanceRepository.findBalanceByUserId(user.getId()).orElseThrow()));
+        assertNoDrift();
+    }
+
+    @Test
+    void aFailedChunkOnlyLosesItsOwnRows() throws Exception {
+        ReflectionTestUtils.setField(transactionImportService, "chunkSize", 2);
+        jdbcTemplate.execute("ALTER TABLE transactions ADD CONSTRAINT import_test_reject "
+                + "CHECK (description <> 'reject me') NOT VALID");
+        try {
+            StringBuilder csv = new StringBuilder("transactionDate,categoryId,amount,description\n");
+            for (String description : List.of("one", "two", "three", "reject me", "five")) {
+                csv.append("2025-04-01,").append(food.getId()).append(",100,").append(description).append('\n');
+            }
+            TransactionImportReport report = transactionImportService.importCsv(user,
+                    new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), null);
+
+            assertEquals(3, report.getImported());
+            assertEquals(2, report.getFailed());
+            assertEquals(1, report.getErrors().size());
+            assertEquals(4, report.getErrors().get(0).getLine());
+            assertTrue(report.getErrors().get(0).getMessage().startsWith("Lines 4-5 not imported"),
+                    report.getErrors().get(0).getMessage());
+            assertEquals(List.of("one", "two", "five"), jdbcTemplate.queryForList(
+                    "SELECT description FROM transactions WHERE user_id = ? ORDER BY id", String.class, user.getId()));
+            assertNoDrift();
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE transactions DROP CONSTRAINT import_test_reject");
+            ReflectionTestUtils.setField(transactionImportService, "chunkSize", 5000);
+        }
+    }
+
+    @Test
+    void bankStatementLayoutWithItsOwnDateFormat() throws Exception {
+        String csv = "\uFEFFDate,Category,Type,Amount,Description\n"
+                + "10/03/2025,Lainnya,EXPENSE,15.00,Parking\n"
+                + "11/03/2025,Lainnya,EXPENSE,1,\"never closed\n";
+
+        JsonNode report = upload(csv, "dd/MM/yyyy", status().isOk()).get("data");
+        assertEquals(1, report.get("imported").asLong());
+        assertEquals(1, report.get("failed").asLong());
+        assertEquals(3, report.get("errors").get(0).get("line").asLong());
+        assertTrue(report.get("errors").get(0).get("message").asText().startsWith("Unterminated quoted field"));
+    }
+
+    @Test
+    void unusableFilesAreRejectedBeforeAnythingIsWritten() throws Exception {
+        upload("when,howMuch\n2025-03-10,10\n", null, status().isBadRequest());
+        upload("", null, status().isBadRequest());
+        upload("date,amount,categoryId\n2025-03-10,10," + food.getId() + "\n", "not a [pattern", status().isBadRequest());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE user_id = ?", Long.class, user.getId()));
+    }
+
+    private JsonNode upload(String csv, String dateFormat, ResultMatcher expectedStatus) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "statement.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+        var request = multipart("/api/transactions/import").file(file).header(HttpHeaders.AUTHORIZATION, bearer);
+        if (dateFormat != null) {
+            request.param("dateFormat", dateFormat);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readTree(body);
+    }
+
+    /** Rollup buckets and the balance snapshot moved with the imported rows. */
+    private void assertNoDrift() {
+        assertTrue(rollupRepository.findDrift().stream()
+                .noneMatch(row -> ((Number) row[0]).longValue() == user.getId()));
+        assertTrue(userBalanceRepository.findDrift().stream()
+                .noneMatch(row -> ((Number) row[0]).longValue() == user.getId()));
+    }
+}
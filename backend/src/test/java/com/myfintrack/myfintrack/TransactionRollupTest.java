@@ -0,0 +1,130 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.dto.request.TransactionRequest;
+import com.myfintrack.myfintrack.dto.response.TransactionResponse;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import com.myfintrack.myfintrack.repository.TransactionMonthlyRollupRepository;
+import com.myfintrack.myfintrack.service.TransactionRollupService;
+import com.myfintrack.myfintrack.service.TransactionService;
+import com.myfintrack.myfintrack.service.UserBalanceService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class TransactionRollupTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRollupService rollupService;
+
+    @Autowired
+    private TransactionMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private UserBalanceService userBalanceService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Category food;
+    private Category transport;
+    private final LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+    private final LocalDate lastMonth = thisMonth.minusMonths(1);
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("rollup");
+        food = categoryRepository.findByType(Category.TransactionType.EXPENSE).get(0);
+        transport = categoryRepository.findByType(Category.TransactionType.EXPENSE).get(1);
+    }
+
+    @Test
+    void mutationsKeepRollupInStepWithRawRows() {
+        TransactionResponse a = create(food, "100.00", thisMonth);
+        TransactionResponse b = create(food, "50.00", thisMonth);
+        create(transport, "25.00", lastMonth);
+
+        assertEquals(new BigDecimal("150.00"), expenseTotal(food, thisMonth));
+
+        // Backdated recategorisation moves the amount between buckets
+        transactionService.updateTransaction(user, a.getId(),
+                new TransactionRequest(transport.getId(), null, new BigDecimal("120.00"), null, lastMonth));
+        assertEquals(new BigDecimal("50.00"), expenseTotal(food, thisMonth));
+        assertEquals(new BigDecimal("145.00"), expenseTotal(transport, lastMonth));
+
+        transactionService.deleteTransaction(user, b.getId());
+        assertEquals(0, BigDecimal.ZERO.compareTo(expenseTotal(food, thisMonth)));
+
+        transactionService.restoreTransaction(user, b.getId());
+        assertEquals(new BigDecimal("50.00"), expenseTotal(food, thisMonth));
+
+        transactionService.deleteTransaction(user, b.getId());
+        transactionService.deleteTransactionPermanently(user, b.getId());
+        assertEquals(0, BigDecimal.ZERO.compareTo(expenseTotal(food, thisMonth)));
+
+        entityManager.flush();
+        assertTrue(rollupService.verify().stream().noneMatch(d -> d.userId().equals(user.getId())),
+                "Rollup must match a full recomputation");
+    }
+
+    @Test
+    void mutationsApplySignedBalanceDeltas() {
+        Category salary = categoryRepository.findByType(Category.TransactionType.INCOME).get(0);
+        create(salary, "1000.00", lastMonth);
+        TransactionResponse expense = create(food, "300.00", thisMonth);
+        assertEquals(new BigDecimal("700.00"), userBalanceService.getBalance(user.getId()));
+
+        transactionService.deleteTransaction(user, expense.getId());
+        assertEquals(new BigDecimal("1000.00"), userBalanceService.getBalance(user.getId()));
+
+        transactionService.restoreTransaction(user, expense.getId());
+        transactionService.deleteTransactionPermanently(user, expense.getId());
+        assertEquals(new BigDecimal("1000.00"), userBalanceService.getBalance(user.getId()));
+    }
+
+    @Test
+    void emptyBalanceTableIsSeededFromExistingTransactions() {
+        Category salary = categoryRepository.findByType(Category.TransactionType.INCOME).get(0);
+        create(salary, "1000.00", lastMonth);
+        TransactionResponse deleted = create(food, "300.00", thisMonth);
+        create(food, "120.00", thisMonth);
+        transactionService.deleteTransaction(user, deleted.getId());
+        // A database that predates the snapshot table; rolled back with the test
+        entityManager.createNativeQuery("DELETE FROM user_balances").executeUpdate();
+
+        userBalanceService.bootstrapIfEmpty();
+
+        assertEquals(new BigDecimal("880.00"), userBalanceService.getBalance(user.getId()));
+    }
+
+    private TransactionResponse create(Category category, String amount, LocalDate date) {
+        return transactionService.createTransaction(user,
+                new TransactionRequest(category.getId(), null, new BigDecimal(amount), null, date));
+    }
+
+    private BigDecimal expenseTotal(Category category, LocalDate date) {
+        return rollupRepository.getTotalByTypeAndMonthAndCategoryId(user.getId(), Category.TransactionType.EXPENSE,
+                date.getMonthValue(), date.getYear(), category.getId());
+    }
+}
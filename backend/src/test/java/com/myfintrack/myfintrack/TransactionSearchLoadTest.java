@@ -0,0 +1,133 @@
+package com.myfintrack.myfintrack;
+
+import com.myfintrack.myfintrack.repository.TransactionQueryRepository;
+import com.myfintrack.myfintrack.util.SearchCursor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search latency against a large table: 10M rows spread over 1,000 users by
+ * default, with descriptions drawn from a merchant-and-purpose vocabulary.
+ * Slow, so only runs on request:
+ *
+ * <pre>
+ * mvn test -Dtest=TransactionSearchLoadTest -Dloadtest=true [-Dloadtest.rows=10000000]
+ * </pre>
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class TransactionSearchLoadTest {
+
+    private static final int ROWS_PER_USER = 10_000;
+    private static final int RUNS = 100;
+    private static final int PAGE = 21;
+
+    private static final String MERCHANTS = "ARRAY['Starbucks', 'Indomaret', 'Alfamart', 'Grab', 'Gojek', 'Tokopedia', "
+            + "'Shopee', 'Pertamina', 'PLN', 'Telkomsel', 'Netflix', 'Spotify', 'Kopi Kenangan', 'McDonalds', "
+            + "'Hypermart', 'Traveloka', 'Bank transfer', 'Salary', 'Freelance', 'Apotek K-24']";
+    private static final String PURPOSES = "ARRAY['coffee', 'groceries', 'ride to office', 'ride home', 'lunch', "
+            + "'dinner with family', 'monthly bill', 'subscription', 'fuel', 'phone credit', 'electricity token', "
+            + "'flight ticket', 'hotel booking', 'medicine', 'birthday gift', 'project payment', 'refund']";
+
+    @Autowired
+    private TransactionQueryRepository transactionQueryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String emailPrefix = "search-load-" + System.nanoTime() + "-";
+    private long userId;
+
+    @BeforeAll
+    void seed() {
+        long rows = Long.getLong("loadtest.rows", 10_000_000L);
+        long users = Math.max(rows / ROWS_PER_USER, 1);
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO users (email, password, full_name, enabled, failed_attempts, created_at, updated_at) "
+                + "SELECT ? || g || '@test.local', 'x', 'Search Load', true, 0, now(), now() "
+                + "FROM generate_series(1, ?) g", emailPrefix, users);
+        jdbcTemplate.update("CREATE TEMPORARY TABLE search_load_users AS "
+                + "SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS n FROM users WHERE email LIKE ? || '%'", emailPrefix);
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM categories WHERE type = 'EXPENSE'", Long.class);
+        // "<merchant> <purpose> #<n>" with k, the row's position within its user, picking
+        // the words; one row in ten carries a reference number
+        jdbcTemplate.update("INSERT INTO transactions (user_id, category_id, type, amount, description, "
+                + "transaction_date, created_at, updated_at) "
+                + "SELECT u.id, ?, 'EXPENSE', (g * 7919 % 200000) / 100.0 + 1, "
+                + "(" + MERCHANTS + ")[1 + k % 20] || ' ' || (" + PURPOSES + ")[1 + (k * 7 + k / 20) % 17] "
+                + "|| CASE WHEN k % 10 = 0 THEN ' #' || (g * 31 % 100000) ELSE '' END, "
+                + "DATE '2023-01-01' + (k % 1095)::int, now(), now() "
+                + "FROM generate_series(0, ? - 1) g "
+                + "CROSS JOIN LATERAL (SELECT g / ? AS k) seq "
+                + "JOIN search_load_users u ON u.n = g % ?", categoryId, rows, users, users);
+        jdbcTemplate.execute("ANALYZE transactions");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM search_load_users WHERE n = 0", Long.class);
+        System.out.printf("📦 seeded %d rows for %d users in %.1f s%n", rows, users, (System.nanoTime() - start) / 1e9);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE user_id IN (SELECT id FROM users WHERE email LIKE ? || '%')",
+                emailPrefix);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ? || '%'", emailPrefix);
+    }
+
+    @Test
+    void searchStaysFast() {
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("common word", "coffee");
+        queries.put("two words", "grab ride");
+        queries.put("phrase", "\"dinner with family\"");
+        queries.put("substring", "kenang");
+        queries.put("typo", "starbuks");
+        queries.put("partial words", "kopi kenang");
+        queries.put("reference number", jdbcTemplate.queryForObject("SELECT substring(description FROM '#[0-9]+') "
+                + "FROM transactions WHERE user_id = ? AND description LIKE '%#%' LIMIT 1", String.class, userId));
+        queries.put("no match", "zzqx");
+
+        queries.forEach((name, text) -> {
+            // What the service runs: exact first, fuzzy only when that finds nothing
+            boolean fuzzy = transactionQueryRepository.search(userId, text, false, null, PAGE).isEmpty();
+            List<TransactionQueryRepository.SearchHit> first = transactionQueryRepository.search(
+                    userId, text, fuzzy, null, PAGE);
+            double[] firstPage = percentiles(() -> {
+                if (transactionQueryRepository.search(userId, text, false, null, PAGE).isEmpty()) {
+                    transactionQueryRepository.search(userId, text, true, null, PAGE);
+                }
+            });
+            TransactionQueryRepository.SearchHit last = first.isEmpty() ? null : first.get(first.size() - 1);
+            SearchCursor after = last == null ? null
+                    : new SearchCursor(last.score(), last.transaction().getId(), fuzzy);
+            double[] nextPage = percentiles(() -> transactionQueryRepository.search(userId, text, fuzzy, after, PAGE));
+            System.out.printf("📊 %-17s first p50=%.2f p99=%.2f ms  next p50=%.2f p99=%.2f ms  (%d %s hits on page)%n",
+                    name, firstPage[0], firstPage[1], nextPage[0], nextPage[1], first.size(), fuzzy ? "fuzzy" : "exact");
+        });
+    }
+
+    private static double[] percentiles(Runnable query) {
+        for (int i = 0; i < 5; i++) {
+            query.run(); // warm-up
+        }
+        List<Double> latencies = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            latencies.add((System.nanoTime() - start) / 1_000_000.0);
+        }
+        Collections.sort(latencies);
+        return new double[] { latencies.get(RUNS / 2), latencies.get(RUNS * 99 / 100) };
+    }
+}
@@ -0,0 +1,174 @@
+package com.myfintrack.myfintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfintrack.myfintrack.entity.Category;
+import com.myfintrack.myfintrack.entity.User;
+import com.myfintrack.myfintrack.repository.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Latency on a multi-million-row table: TransactionSearchLoadTest.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private User other;
+    private String bearer;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create("search");
+        other = testUsers.create("search-other");
+        bearer = testUsers.bearer(user);
+        food = categoryRepository.findByType(Category.TransactionType.EXPENSE).get(0);
+
+        insert(user, "Starbucks coffee downtown", false);
+        insert(user, "Coffee beans, 1kg", false);
+        insert(user, "Coffee with the team", false);
+        insert(user, "Grab ride to office", false);
+        insert(user, "Coffee machine (returned)", true);
+        insert(other, "Coffee for someone else", false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testUsers.deleteCreated();
+    }
+
+    @Test
+    void findsWordsSubstringsAndTyposOfOwnLiveRowsOnly() throws Exception {
+        assertEquals(List.of("Coffee beans, 1kg", "Coffee with the team", "Starbucks coffee downtown"),
+                sorted(search("coffee", null, 10).get("content")));
+        assertEquals(List.of("Starbucks coffee downtown"), sorted(search("buck", null, 10).get("content")));
+        assertEquals(List.of("Starbucks coffee downtown"), sorted(search("starbuks", null, 10).get("content")));
+        assertEquals(List.of("Grab ride to office"), sorted(search("ride office", null, 10).get("content")));
+        assertEquals(List.of(), sorted(search("100%", null, 10).get("content")));
+    }
+
+    @Test
+    void pagesThroughRankedResultsWithACursor() throws Exception {
+        JsonNode firstPage = search("coffee downtown", null, 1);
+        assertEquals("Starbucks coffee downtown", firstPage.get("content").get(0).get("description").asText());
+
+        // Exact matches, then a typo that only the fuzzy search finds
+        for (String text : List.of("coffee", "cofee")) {
+            List<String> seen = new ArrayList<>();
+            String cursor = null;
+            do {
+                JsonNode page = search(text, cursor, 1);
+                page.get("content").forEach(row -> seen.add(row.get("description").asText()));
+                cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            } while (cursor != null);
+            assertEquals(List.of("Coffee beans, 1kg", "Coffee with the team", "Starbucks coffee downtown"),
+                    seen.stream().sorted().toList(), text);
+        }
+    }
+
+    @Test
+    void rejectsBlankSearch() throws Exception {
+        mockMvc.perform(get("/api/transactions/search").param("q", "  ")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void eachMatchKindUsesAGinIndex() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexdef FROM pg_indexes WHERE tablename = 'transactions'", String.class);
+        for (String columns : List.of("(user_id, search_vector)", "(user_id, description gin_trgm_ops)")) {
+            assertTrue(indexes.stream().anyMatch(def -> def.contains("USING gin " + columns)
+                    && def.contains("gin_pending_list_limit='256'")), indexes.toString());
+        }
+
+        // Planned against an analyzed scratch copy, as in TransactionFilterTest. Only the
+        // GIN indexes are copied: with two users the user_id btrees would win on cost.
+        String plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("CREATE TEMPORARY TABLE search_plan "
+                    + "(LIKE transactions INCLUDING DEFAULTS INCLUDING IDENTITY INCLUDING GENERATED) ON COMMIT DROP");
+            jdbcTemplate.execute("CREATE INDEX ON search_plan USING gin (user_id, search_vector)");
+            jdbcTemplate.execute("CREATE INDEX ON search_plan USING gin (user_id, description gin_trgm_ops)");
+            jdbcTemplate.update("INSERT INTO search_plan (user_id, category_id, type, amount, description, "
+                    + "transaction_date, created_at, updated_at) "
+                    + "SELECT g % 2, 1, 'EXPENSE', 1000, "
+                    + "CASE WHEN g % 500 = 0 THEN 'Coffee ' || g ELSE 'Payment ' || md5(g::text) END, "
+                    + "CURRENT_DATE, now(), now() FROM generate_series(1, 20000) g");
+            jdbcTemplate.execute("ANALYZE search_plan");
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            String explained = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT id FROM search_plan t "
+                    + "WHERE t.user_id = 1 AND t.deleted_at IS NULL "
+                    + "AND (t.search_vector @@ websearch_to_tsquery('simple', 'coffee') "
+                    + "OR t.description ILIKE '%coffee%' OR 'coffee' <% t.description)", String.class));
+            status.setRollbackOnly();
+            return explained;
+        });
+        assertTrue(plan.contains("BitmapOr"), plan);
+        String indexConds = String.join("\n", plan.lines().filter(line -> line.contains("Index Cond")).toList());
+        assertTrue(indexConds.contains("search_vector @@"), plan);
+        assertTrue(indexConds.contains("description ~~*"), plan);
+        assertTrue(indexConds.contains("%>"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    private JsonNode search(String text, String cursor, int size) throws Exception {
+        var request = get("/api/transactions/search").param("q", text).param("size", String.valueOf(size))
+                .header(HttpHeaders.AUTHORIZATION, bearer);
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("data");
+    }
+
+    private static List<String> sorted(JsonNode content) {
+        List<String> descriptions = new ArrayList<>();
+        content.forEach(row -> descriptions.add(row.get("description").asText()));
+        return descriptions.stream().sorted().toList();
+    }
+
+    private void insert(User owner, String description, boolean deleted) {
+        jdbcTemplate.update("INSERT INTO transactions (user_id, category_id, type, amount, description, "
+                        + "transaction_date, created_at, updated_at, deleted_at) "
+                        + "VALUES (?, ?, 'EXPENSE', 1000, ?, CURRENT_DATE, now(), now(), CASE WHEN ? THEN now() END)",
+                owner.getId(), food.getId(), description, deleted);
+    }
+}
@@ -0,0 +1,80 @@
+package com.myfintrack.myfintrack.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The permit-limited executor is only built on runtimes with virtual threads,
+ * so it is exercised here directly over a platform pool.
+ */
+class PermitLimitedExecutorServiceTest {
+
+    private final ExecutorService delegate = Executors.newCachedThreadPool();
+    private final PermitLimitedExecutorService executor = new PermitLimitedExecutorService(delegate, 1, 1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void runsOneAtATimeAndRejectsBeyondTheQueue() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostAtOnce = new AtomicInteger();
+        Runnable blocking = () -> {
+            mostAtOnce.accumulateAndGet(running.incrementAndGet(), Math::max);
+            await(release);
+            running.decrementAndGet();
+        };
+
+        Future<?> first = executor.submit(blocking);
+        Future<?> queued = executor.submit(blocking);
+        assertThrows(RejectedExecutionException.class, () -> executor.submit(blocking));
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+        assertEquals(1, mostAtOnce.get());
+    }
+
+    @Test
+    void queuedTaskStartsOnceAPermitFrees() throws Exception {
+        Future<?> first = executor.submit(() -> await(release));
+        Future<String> queued = executor.submit(() -> "ran");
+        assertFalse(queued.isDone());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals("ran", queued.get(5, TimeUnit.SECONDS));
+        // Capacity is back once both finished
+        assertEquals("again", executor.submit(() -> "again").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rejectsAfterShutdown() {
+        executor.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}